@@ -0,0 +1,18 @@
+package com.study.serializer;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 빌드 시 DTO의 Jackson 직렬화 클래스({DTO 이름}JsonSerializer)를 생성한다
+ * 생성된 클래스는 리플렉션 없이 getter를 직접 호출해 JsonGenerator에 기록하며, 목록은 META-INF/study/generated-serializers 에 기록된다
+ * 상위 클래스의 필드도 포함하지만 하위 클래스에는 적용되지 않으므로, 하위 DTO에도 따로 붙여야 한다
+ */
+@Documented
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.SOURCE)
+public @interface GenerateSerializer {
+}
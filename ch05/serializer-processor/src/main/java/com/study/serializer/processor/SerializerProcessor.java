@@ -0,0 +1,467 @@
+package com.study.serializer.processor;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * @GenerateSerializer가 붙은 DTO마다 Jackson StdSerializer를 생성한다
+ * 필드 선언 순서(상위 클래스 먼저)대로 getter를 직접 호출하고, Jackson 빈 직렬화와 같은 결과가 나오도록 아래 어노테이션을 반영한다
+ * - @JsonIgnore, @JsonProperty(이름), @JsonInclude(NON_NULL, NON_EMPTY, NON_DEFAULT) - 빈 값은 String, Collection, Map, 배열만 판별하고 그 외 타입에 NON_EMPTY/NON_DEFAULT를 지정하면 컴파일 오류
+ * - @JsonFilter 뷰: 생성자로 받은 프로퍼티 이름만 기록
+ * - LocalDateTime의 @JsonFormat(pattern): yyyy-MM-dd HH:mm:ss는 문자 버퍼에 직접 기록하고, 그 외 패턴은 DateTimeFormatter 상수를 사용
+ * 그 밖의 타입은 SerializerProvider의 기본 직렬화에 맡긴다
+ * Jackson은 컴파일 클래스패스에만 있으면 되므로 어노테이션은 이름으로 비교한다
+ */
+@SupportedAnnotationTypes(SerializerProcessor.GENERATE_SERIALIZER)
+public class SerializerProcessor extends AbstractProcessor {
+
+    static final String GENERATE_SERIALIZER = "com.study.serializer.GenerateSerializer";
+    static final String INDEX = "META-INF/study/generated-serializers";
+    static final String SUFFIX = "JsonSerializer";
+
+    private static final String JSON_IGNORE = "com.fasterxml.jackson.annotation.JsonIgnore";
+    private static final String JSON_PROPERTY = "com.fasterxml.jackson.annotation.JsonProperty";
+    private static final String JSON_INCLUDE = "com.fasterxml.jackson.annotation.JsonInclude";
+    private static final String JSON_FORMAT = "com.fasterxml.jackson.annotation.JsonFormat";
+    private static final String FIXED_DATE_TIME_PATTERN = "yyyy-MM-dd HH:mm:ss";
+
+    private final Map<String, String> generated = new TreeMap<>(); // DTO 클래스 -> 생성된 직렬화 클래스
+    private final List<Element> originatingElements = new ArrayList<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() != ElementKind.CLASS || ((TypeElement) element).getNestingKind() != NestingKind.TOP_LEVEL) {
+                    error(element, "@GenerateSerializer can only be used on top-level classes");
+                    continue;
+                }
+                TypeElement type = (TypeElement) element;
+                try {
+                    generate(type);
+                    generated.put(type.getQualifiedName().toString(), serializerName(type));
+                    originatingElements.add(type);
+                } catch (IOException | IllegalArgumentException e) {
+                    error(type, "Failed to generate serializer: " + e.getMessage());
+                }
+            }
+        }
+        if (roundEnv.processingOver() && !generated.isEmpty()) {
+            writeIndex();
+        }
+        return true;
+    }
+
+    private void generate(TypeElement type) throws IOException {
+        String packageName = packageOf(type).getQualifiedName().toString();
+        String dtoName = type.getSimpleName().toString();
+        String className = dtoName + SUFFIX;
+        List<Property> properties = properties(type);
+
+        FileObject file = processingEnv.getFiler().createSourceFile(serializerName(type), type);
+        try (PrintWriter out = new PrintWriter(file.openWriter())) {
+            out.println("package " + packageName + ";");
+            out.println();
+            out.println("import java.io.IOException;");
+            out.println("import java.util.Set;");
+            out.println();
+            out.println("import com.fasterxml.jackson.core.JsonGenerator;");
+            out.println("import com.fasterxml.jackson.core.SerializableString;");
+            out.println("import com.fasterxml.jackson.core.io.SerializedString;");
+            out.println("import com.fasterxml.jackson.databind.JsonSerializer;");
+            out.println("import com.fasterxml.jackson.databind.SerializerProvider;");
+            out.println("import com.fasterxml.jackson.databind.ser.std.StdSerializer;");
+            out.println("import com.fasterxml.jackson.databind.util.NameTransformer;");
+            out.println();
+            out.println("/**");
+            out.println(" * " + dtoName + " 직렬화 - " + SerializerProcessor.class.getSimpleName() + "가 생성한 코드이므로 수정하지 않는다");
+            out.println(" */");
+            out.println("@javax.annotation.processing.Generated(\"" + SerializerProcessor.class.getName() + "\")");
+            out.println("public final class " + className + " extends StdSerializer<" + dtoName + "> {");
+            out.println();
+            out.print("    private static final String[] PROPERTIES = {");
+            for (int i = 0; i < properties.size(); i++) {
+                out.print((i == 0 ? "" : ", ") + quote(properties.get(i).name));
+            }
+            out.println("};");
+            for (int i = 0; i < properties.size(); i++) {
+                if (properties.get(i).pattern != null && !properties.get(i).isFixedDateTime()) {
+                    out.println("    private static final java.time.format.DateTimeFormatter FORMAT_" + i
+                        + " = java.time.format.DateTimeFormatter.ofPattern(" + quote(properties.get(i).pattern) + ");");
+                }
+            }
+            if (properties.stream().anyMatch(Property::isFixedDateTime)) {
+                out.println("    private static final java.time.format.DateTimeFormatter FIXED_DATE_TIME"
+                    + " = java.time.format.DateTimeFormatter.ofPattern(" + quote(FIXED_DATE_TIME_PATTERN) + ");");
+            }
+            out.println();
+            out.println("    private final SerializableString[] names;");
+            out.println("    private final boolean[] included;");
+            out.println("    private final boolean unwrapping;");
+            out.println();
+            out.println("    /** @param view 뷰에서 노출하는 프로퍼티 이름 - null이면 모든 프로퍼티를 기록한다 */");
+            out.println("    public " + className + "(Set<String> view) {");
+            out.println("        super(" + dtoName + ".class);");
+            out.println("        this.names = new SerializableString[PROPERTIES.length];");
+            out.println("        this.included = new boolean[PROPERTIES.length];");
+            out.println("        for (int i = 0; i < PROPERTIES.length; i++) {");
+            out.println("            names[i] = new SerializedString(PROPERTIES[i]);");
+            out.println("            included[i] = view == null || view.contains(PROPERTIES[i]);");
+            out.println("        }");
+            out.println("        this.unwrapping = false;");
+            out.println("    }");
+            out.println();
+            out.println("    private " + className + "(" + className + " base, NameTransformer transformer) {");
+            out.println("        super(" + dtoName + ".class);");
+            out.println("        this.names = new SerializableString[PROPERTIES.length];");
+            out.println("        for (int i = 0; i < PROPERTIES.length; i++) {");
+            out.println("            names[i] = new SerializedString(transformer.transform(PROPERTIES[i]));");
+            out.println("        }");
+            out.println("        this.included = base.included;");
+            out.println("        this.unwrapping = true;");
+            out.println("    }");
+            out.println();
+            out.println("    @Override");
+            out.println("    public void serialize(" + dtoName + " value, JsonGenerator gen, SerializerProvider provider) throws IOException {");
+            out.println("        if (unwrapping) {");
+            out.println("            writeProperties(value, gen, provider);");
+            out.println("            return;");
+            out.println("        }");
+            out.println("        gen.writeStartObject(value);");
+            out.println("        writeProperties(value, gen, provider);");
+            out.println("        gen.writeEndObject();");
+            out.println("    }");
+            out.println();
+            out.println("    @Override");
+            out.println("    public boolean isUnwrappingSerializer() {");
+            out.println("        return unwrapping;");
+            out.println("    }");
+            out.println();
+            out.println("    /** @JsonUnwrapped(EntityModel 등)로 포함될 때는 객체 시작/끝 없이 프로퍼티만 기록한다 */");
+            out.println("    @Override");
+            out.println("    public JsonSerializer<" + dtoName + "> unwrappingSerializer(NameTransformer transformer) {");
+            out.println("        return new " + className + "(this, transformer);");
+            out.println("    }");
+            out.println();
+            out.println("    private void writeProperties(" + dtoName + " value, JsonGenerator gen, SerializerProvider provider) throws IOException {");
+            for (int i = 0; i < properties.size(); i++) {
+                writeProperty(out, i, properties.get(i));
+            }
+            out.println("    }");
+            if (properties.stream().anyMatch(Property::isFixedDateTime)) {
+                writeFixedDateTimeMethods(out);
+            }
+            out.println("}");
+        }
+    }
+
+    private static void writeProperty(PrintWriter out, int index, Property property) {
+        String v = "v" + index;
+        out.println("        if (included[" + index + "]) {");
+        out.println("            " + property.typeName + " " + v + " = value." + property.getter + "();");
+        String condition = property.includeCondition(v);
+        String indent = "            ";
+        if (condition != null) {
+            out.println("            if (" + condition + ") {");
+            indent += "    ";
+        }
+        out.println(indent + "gen.writeFieldName(names[" + index + "]);");
+        if (property.kind == Kind.OTHER) {
+            out.println(indent + "provider.defaultSerializeValue(" + v + ", gen);");
+        } else if (property.primitive) {
+            out.println(indent + property.writeStatement(v, index));
+        } else {
+            out.println(indent + "if (" + v + " == null) {");
+            out.println(indent + "    gen.writeNull();");
+            out.println(indent + "} else {");
+            out.println(indent + "    " + property.writeStatement(v, index));
+            out.println(indent + "}");
+        }
+        if (condition != null) {
+            out.println("            }");
+        }
+        out.println("        }");
+    }
+
+    /** 고정 패턴(yyyy-MM-dd HH:mm:ss)을 DateTimeFormatter 없이 문자 버퍼에 직접 기록 - 4자리 연도 범위를 벗어나면 DateTimeFormatter 사용 */
+    private static void writeFixedDateTimeMethods(PrintWriter out) {
+        out.println();
+        out.println("    private static void writeDateTime(JsonGenerator gen, java.time.LocalDateTime value) throws IOException {");
+        out.println("        int year = value.getYear();");
+        out.println("        if (year < 0 || year > 9999) {");
+        out.println("            gen.writeString(FIXED_DATE_TIME.format(value));");
+        out.println("            return;");
+        out.println("        }");
+        out.println("        char[] buffer = new char[19];");
+        out.println("        putDigits(buffer, 0, year / 100);");
+        out.println("        putDigits(buffer, 2, year % 100);");
+        out.println("        buffer[4] = '-';");
+        out.println("        putDigits(buffer, 5, value.getMonthValue());");
+        out.println("        buffer[7] = '-';");
+        out.println("        putDigits(buffer, 8, value.getDayOfMonth());");
+        out.println("        buffer[10] = ' ';");
+        out.println("        putDigits(buffer, 11, value.getHour());");
+        out.println("        buffer[13] = ':';");
+        out.println("        putDigits(buffer, 14, value.getMinute());");
+        out.println("        buffer[16] = ':';");
+        out.println("        putDigits(buffer, 17, value.getSecond());");
+        out.println("        gen.writeString(buffer, 0, buffer.length);");
+        out.println("    }");
+        out.println();
+        out.println("    private static void putDigits(char[] buffer, int offset, int value) {");
+        out.println("        buffer[offset] = (char) ('0' + value / 10);");
+        out.println("        buffer[offset + 1] = (char) ('0' + value % 10);");
+        out.println("    }");
+    }
+
+    /** 상위 클래스부터 선언 순서대로 직렬화 대상 필드를 모은다 - Jackson 빈 직렬화의 기본 프로퍼티 순서와 같다 */
+    private List<Property> properties(TypeElement type) {
+        Deque<TypeElement> hierarchy = new ArrayDeque<>();
+        for (TypeElement current = type; current != null; current = superclass(current)) {
+            hierarchy.push(current);
+        }
+        List<Property> properties = new ArrayList<>();
+        for (TypeElement current : hierarchy) {
+            for (VariableElement field : ElementFilter.fieldsIn(current.getEnclosedElements())) {
+                Set<Modifier> modifiers = field.getModifiers();
+                if (modifiers.contains(Modifier.STATIC) || modifiers.contains(Modifier.TRANSIENT) || isIgnored(field)) {
+                    continue;
+                }
+                properties.add(new Property(field, annotationValue(field, JSON_PROPERTY, "value"),
+                    annotationValue(field, JSON_INCLUDE, "value"), annotationValue(field, JSON_FORMAT, "pattern"), emptyCheck(field.asType())));
+            }
+        }
+        return properties;
+    }
+
+    /** Jackson이 빈 값으로 보는 컨테이너 타입의 판별식(%s는 값 변수) - 그 외 타입은 null */
+    private String emptyCheck(TypeMirror type) {
+        if (type.getKind() == TypeKind.ARRAY) {
+            return "%s.length == 0";
+        }
+        Types types = processingEnv.getTypeUtils();
+        for (String container : List.of("java.util.Collection", "java.util.Map")) {
+            TypeMirror containerType = types.erasure(processingEnv.getElementUtils().getTypeElement(container).asType());
+            if (types.isAssignable(types.erasure(type), containerType)) {
+                return "%s.isEmpty()";
+            }
+        }
+        return null;
+    }
+
+    private TypeElement superclass(TypeElement type) {
+        TypeMirror superclass = type.getSuperclass();
+        if (superclass.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+        TypeElement element = (TypeElement) ((DeclaredType) superclass).asElement();
+        return element.getQualifiedName().contentEquals("java.lang.Object") ? null : element;
+    }
+
+    private static boolean isIgnored(Element field) {
+        AnnotationMirror ignore = annotation(field, JSON_IGNORE);
+        if (ignore == null) {
+            return false;
+        }
+        String value = annotationValue(field, JSON_IGNORE, "value");
+        return value == null || Boolean.parseBoolean(value);
+    }
+
+    private static AnnotationMirror annotation(Element element, String annotationType) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            if (((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(annotationType)) {
+                return mirror;
+            }
+        }
+        return null;
+    }
+
+    /** 어노테이션에 명시된 값 - 어노테이션이 없거나 값을 지정하지 않았으면 null (enum 값은 상수 이름) */
+    private static String annotationValue(Element element, String annotationType, String name) {
+        AnnotationMirror mirror = annotation(element, annotationType);
+        if (mirror == null) {
+            return null;
+        }
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : mirror.getElementValues().entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals(name)) {
+                Object value = entry.getValue().getValue();
+                return value instanceof VariableElement ? ((VariableElement) value).getSimpleName().toString() : String.valueOf(value);
+            }
+        }
+        return null;
+    }
+
+    private void writeIndex() {
+        try {
+            FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", INDEX,
+                originatingElements.toArray(new Element[0]));
+            try (Writer writer = file.openWriter()) {
+                for (Map.Entry<String, String> entry : generated.entrySet()) {
+                    writer.write(entry.getKey() + "=" + entry.getValue() + "\n");
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Failed to write " + INDEX + ": " + e.getMessage());
+        }
+    }
+
+    private String serializerName(TypeElement type) {
+        return type.getQualifiedName() + SUFFIX;
+    }
+
+    private static PackageElement packageOf(Element element) {
+        while (!(element instanceof PackageElement)) {
+            element = element.getEnclosingElement();
+        }
+        return (PackageElement) element;
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+    private static String quote(String value) {
+        return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+
+    private enum Kind {
+        STRING, NUMBER, BOOLEAN, DATE_TIME, OTHER
+    }
+
+    private static final class Property {
+        private final String name;
+        private final String getter;
+        private final String typeName;
+        private final boolean primitive;
+        private final Kind kind;
+        private final String include;
+        private final String pattern;
+        private final String emptyCheck;
+
+        private Property(VariableElement field, String jsonName, String include, String pattern, String emptyCheck) {
+            String fieldName = field.getSimpleName().toString();
+            TypeMirror type = field.asType();
+            this.name = jsonName == null || jsonName.isEmpty() ? fieldName : jsonName;
+            this.primitive = type.getKind().isPrimitive();
+            this.typeName = type.toString();
+            this.kind = kindOf(type);
+            this.include = include;
+            this.pattern = kind == Kind.DATE_TIME ? pattern : null;
+            this.emptyCheck = kind == Kind.STRING ? "%s.isEmpty()" : emptyCheck;
+            String capitalized = Character.toUpperCase(fieldName.charAt(0)) + fieldName.substring(1);
+            this.getter = (type.getKind() == TypeKind.BOOLEAN ? "is" : "get") + capitalized; // Lombok @Getter 규칙
+            if (kind == Kind.DATE_TIME && this.pattern == null) {
+                throw new IllegalArgumentException(String.format("LocalDateTime field '%s' needs @JsonFormat(pattern)", fieldName));
+            }
+            if (kind == Kind.OTHER && this.emptyCheck == null && ("NON_EMPTY".equals(include) || "NON_DEFAULT".equals(include))) {
+                throw new IllegalArgumentException(String.format("@JsonInclude(%s) on field '%s' is only supported for String, Collection, Map and array types", include, fieldName));
+            }
+        }
+
+        private static Kind kindOf(TypeMirror type) {
+            switch (type.getKind()) {
+                case BOOLEAN:
+                    return Kind.BOOLEAN;
+                case BYTE: case SHORT: case INT: case LONG: case FLOAT: case DOUBLE:
+                    return Kind.NUMBER;
+                case DECLARED:
+                    break;
+                default:
+                    return Kind.OTHER;
+            }
+            switch (type.toString()) {
+                case "java.lang.String":
+                    return Kind.STRING;
+                case "java.lang.Boolean":
+                    return Kind.BOOLEAN;
+                case "java.lang.Byte": case "java.lang.Short": case "java.lang.Integer": case "java.lang.Long":
+                case "java.lang.Float": case "java.lang.Double":
+                    return Kind.NUMBER;
+                case "java.time.LocalDateTime":
+                    return Kind.DATE_TIME;
+                default:
+                    return Kind.OTHER;
+            }
+        }
+
+        private boolean isFixedDateTime() {
+            return FIXED_DATE_TIME_PATTERN.equals(pattern);
+        }
+
+        /** @JsonInclude 조건 - 항상 기록하면 null */
+        private String includeCondition(String v) {
+            if (include == null || "ALWAYS".equals(include) || "USE_DEFAULTS".equals(include)) {
+                return null;
+            }
+            boolean nonDefault = "NON_DEFAULT".equals(include);
+            if (primitive) {
+                if (!nonDefault) {
+                    return null;
+                }
+                return kind == Kind.BOOLEAN ? v : v + " != 0";
+            }
+            String nonNull = v + " != null";
+            if (emptyCheck != null && (nonDefault || "NON_EMPTY".equals(include))) {
+                return nonNull + " && !(" + String.format(emptyCheck, v) + ")";
+            }
+            if (nonDefault && kind == Kind.BOOLEAN) {
+                return nonNull + " && " + v;
+            }
+            if (nonDefault && kind == Kind.NUMBER) {
+                return nonNull + " && " + v + ".doubleValue() != 0";
+            }
+            return nonNull;
+        }
+
+        private String writeStatement(String v, int index) {
+            switch (kind) {
+                case STRING:
+                    return "gen.writeString(" + v + ");";
+                case NUMBER:
+                    return "gen.writeNumber(" + v + ");";
+                case BOOLEAN:
+                    return "gen.writeBoolean(" + v + ");";
+                case DATE_TIME:
+                    return isFixedDateTime() ? "writeDateTime(gen, " + v + ");" : "gen.writeString(FORMAT_" + index + ".format(" + v + "));";
+                default:
+                    throw new IllegalStateException(kind.name());
+            }
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.study;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * 벤치마크용 애플리케이션 기동 - 메모리 H2, 임의 포트, SQL 로그 없이 실행한다
+ * 인자로 넘긴 설정은 기본 설정 뒤에 붙으므로 같은 키면 인자가 우선한다
+ */
+public final class BenchmarkApplication {
+
+    private static final List<String> DEFAULT_ARGS = List.of(
+        "--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+        "--spring.sql.init.mode=never",
+        "--spring.main.banner-mode=off",
+        "--server.port=0",
+        "--logging.level.org.hibernate.SQL=warn",
+        "--logging.level.org.hibernate.type=warn",
+        "--logging.level.org.springframework=warn",
+        "--logging.level.com.study=warn");
+
+    private BenchmarkApplication() {
+    }
+
+    public static ConfigurableApplicationContext run(String... args) {
+        List<String> all = new ArrayList<>(DEFAULT_ARGS);
+        all.addAll(Arrays.asList(args));
+        return new SpringApplicationBuilder(StartApplication.class).run(all.toArray(String[]::new));
+    }
+}
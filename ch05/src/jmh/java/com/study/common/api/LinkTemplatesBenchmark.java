@@ -0,0 +1,81 @@
+package com.study.common.api;
+
+import java.util.concurrent.TimeUnit;
+
+import com.study.BenchmarkApplication;
+import com.study.user.controller.v2.AdminUserControllerV2;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.server.mvc.WebMvcLinkBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * 링크 생성 - 요청마다 methodOn 프록시로 매핑을 해석하던 방식과 기동 시 만든 LinkTemplates 비교
+ * 요청 속성에 캐시되는 값이 없도록 매 호출마다 새 요청을 바인딩한다
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 2)
+@Fork(1)
+public class LinkTemplatesBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private LinkTemplates linkTemplates;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.run();
+        linkTemplates = context.getBean(LinkTemplates.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        context.close();
+    }
+
+    @Setup(Level.Invocation)
+    public void bindRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/v2/admin/users/1");
+        request.setServerPort(8088);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @Benchmark
+    public Link methodOnUserLink() {
+        return WebMvcLinkBuilder.linkTo(WebMvcLinkBuilder.methodOn(AdminUserControllerV2.class).retrieveUser(1L)).withRel("user-url");
+    }
+
+    @Benchmark
+    public Link templateUserLink() {
+        return linkTemplates.link(AdminUserControllerV2.class, "retrieveUser", "user-url", 1L);
+    }
+
+    /** 선택 요청 파라미터가 있는 매핑 - {?after,before,limit} 템플릿을 Link가 다시 파싱한다 */
+    @Benchmark
+    public Link methodOnAllUsersLink() {
+        return WebMvcLinkBuilder.linkTo(WebMvcLinkBuilder.methodOn(AdminUserControllerV2.class).retrieveAllUsers(null, null, null)).withRel("all-users");
+    }
+
+    @Benchmark
+    public Link templateAllUsersLink() {
+        return linkTemplates.link(AdminUserControllerV2.class, "retrieveAllUsers", "all-users");
+    }
+}
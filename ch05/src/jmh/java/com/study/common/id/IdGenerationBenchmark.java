@@ -0,0 +1,107 @@
+package com.study.common.id;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.study.BenchmarkApplication;
+import com.study.post.controller.v2.dto.PostDto;
+import com.study.post.service.PostService;
+import com.study.user.domain.User;
+import com.study.user.service.UserService;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * 엔티티별 시퀀스의 할당 크기(app.id.allocation-size)에 따른 insert 처리량 비교
+ * 1이면 insert마다 시퀀스를 조회하고(기존 hibernate_sequence와 같은 왕복 수), 50이면 pooled-lo로 메모리에서 나눠준다
+ * 점수는 insert 1건 기준(ops/s = rows/s)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IdGenerationBenchmark {
+
+    private static final int ROWS = 100;
+
+    @Param({"1", "50"})
+    private int allocationSize;
+
+    private ConfigurableApplicationContext context;
+    private UserService userService;
+    private PostService postService;
+    private Long userId;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.run("--spring.jpa.properties.app.id.allocation-size=" + allocationSize);
+        userService = context.getBean(UserService.class);
+        postService = context.getBean(PostService.class);
+        userId = userService.saveUser(user(0));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    /** DataInitializer와 같이 사용자와 게시글 한 건씩 등록 - 사용자, 게시글, 게시글 본문 insert */
+    @Benchmark
+    @OperationsPerInvocation(ROWS * 3)
+    public void userWithPost() {
+        for (int i = 0; i < ROWS; i++) {
+            Long id = userService.saveUser(user(i));
+            postService.savePostByUser(id, post(i));
+        }
+    }
+
+    /** 한 사용자에 게시글을 건별 트랜잭션으로 등록 - 게시글, 게시글 본문 insert */
+    @Benchmark
+    @OperationsPerInvocation(ROWS * 2)
+    public void savePostByUser() {
+        for (int i = 0; i < ROWS; i++) {
+            postService.savePostByUser(userId, post(i));
+        }
+    }
+
+    /** 일괄 등록(saveUsers) - 한 트랜잭션에서 JDBC 배치로 insert */
+    @Benchmark
+    @OperationsPerInvocation(ROWS * 10)
+    public List<Long> bulkUsers() {
+        List<User> users = new ArrayList<>(ROWS * 10);
+        for (int i = 0; i < ROWS * 10; i++) {
+            users.add(user(i));
+        }
+        return userService.saveUsers(users);
+    }
+
+    private static User user(int i) {
+        return User.builder()
+            .name("bench" + i)
+            .password("pw")
+            .ssn("701010-1111111")
+            .build();
+    }
+
+    private static PostDto post(int i) {
+        PostDto post = new PostDto();
+        post.setDescription("bench post " + i);
+        return post;
+    }
+}
@@ -0,0 +1,88 @@
+package com.study.common.json;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.study.common.exception.ExceptionResponse;
+import com.study.common.view.JsonViewRegistry;
+import com.study.post.controller.v2.dto.PostDto;
+import com.study.user.controller.v1.dto.UserDto;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * 빌드 시 생성한 직렬화 클래스(GeneratedSerializerModule)와 Jackson 기본(리플렉션) 직렬화 비교
+ * JSON 컨버터와 같은 빌더 설정(뷰 필터, 날짜 포맷)으로 만든 ObjectMapper를 사용한다
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GeneratedSerializerBenchmark {
+
+    private static final int ROWS = 100;
+
+    @Param({"reflective", "generated"})
+    private String serializers;
+
+    private List<UserDto> users;
+    private List<PostDto> posts;
+    private ExceptionResponse exception;
+    private ObjectWriter usersWriter;
+    private ObjectWriter postsWriter;
+    private ObjectWriter exceptionWriter;
+
+    @Setup
+    public void setUp() {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json().filters(JsonViewRegistry.filterProvider());
+        if ("generated".equals(serializers)) {
+            builder.modulesToInstall(new GeneratedSerializerModule());
+        }
+        ObjectMapper mapper = builder.build();
+
+        LocalDateTime now = LocalDateTime.of(2026, 10, 18, 14, 30, 5);
+        users = new ArrayList<>(ROWS);
+        posts = new ArrayList<>(ROWS);
+        for (long id = 1; id <= ROWS; id++) {
+            users.add(new UserDto(id, "user" + id, now.plusSeconds(id), "701010-1111111", id % 7, 1L));
+            posts.add(new PostDto(id, "post description number " + id, id % 3 == 0, now.plusMinutes(id), now.plusMinutes(id + 1)));
+        }
+        exception = new ExceptionResponse(now, "ID[999] not found", "uri=/v2/users/999");
+
+        usersWriter = mapper.writerFor(mapper.getTypeFactory().constructCollectionType(List.class, UserDto.class));
+        postsWriter = mapper.writerFor(mapper.getTypeFactory().constructCollectionType(List.class, PostDto.class));
+        exceptionWriter = mapper.writerFor(ExceptionResponse.class);
+    }
+
+    @Benchmark
+    public byte[] users() throws Exception {
+        return usersWriter.writeValueAsBytes(users);
+    }
+
+    @Benchmark
+    public byte[] posts() throws Exception {
+        return postsWriter.writeValueAsBytes(posts);
+    }
+
+    @Benchmark
+    public byte[] exception() throws Exception {
+        return exceptionWriter.writeValueAsBytes(exception);
+    }
+}
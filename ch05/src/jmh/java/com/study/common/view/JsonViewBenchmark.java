@@ -0,0 +1,86 @@
+package com.study.common.view;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.study.user.controller.v1.dto.UserDto;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.MappingJacksonValue;
+
+/**
+ * 사용자 뷰(UserInfo) 직렬화 - 요청마다 필터/FilterProvider/MappingJacksonValue를 만들던 방식과 한번 등록한 뷰 비교
+ * 할당량은 -prof gc로 확인한다 (gc.alloc.rate.norm)
+ * 생성된 직렬화 클래스(GeneratedSerializerModule)는 등록하지 않고 Jackson 기본 직렬화로 비교한다
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonViewBenchmark {
+
+    @Param({"1", "20"})
+    private int users;
+
+    private Object value;
+    private ObjectMapper perRequestMapper;
+    private ObjectMapper registeredMapper;
+    private ObjectWriter cachedWriter;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime joinDate = LocalDateTime.of(2026, 10, 18, 14, 30, 5);
+        List<UserDto> list = new ArrayList<>(users);
+        for (long id = 1; id <= users; id++) {
+            list.add(new UserDto(id, "user" + id, joinDate.plusMinutes(id), "701010-1111111", id % 5, 0L));
+        }
+        value = users == 1 ? list.get(0) : list;
+
+        perRequestMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        registeredMapper = new ObjectMapper().registerModule(new JavaTimeModule())
+            .setFilterProvider(JsonViewRegistry.filterProvider());
+        cachedWriter = new JsonViewWriters(perRequestMapper).writerFor(value.getClass());
+    }
+
+    /** 변경 전 - 컨트롤러가 요청마다 필터를 만들고, 컨버터가 MappingJacksonValue의 필터로 ObjectWriter를 만든다 */
+    @Benchmark
+    public byte[] perRequestFilter() throws Exception {
+        SimpleBeanPropertyFilter filter = SimpleBeanPropertyFilter.filterOutAllExcept("id", "name", "joinDate", "ssn", "postCount");
+        FilterProvider filters = new SimpleFilterProvider().addFilter(JsonViewRegistry.USER_INFO, filter);
+        MappingJacksonValue mapping = new MappingJacksonValue(value);
+        mapping.setFilters(filters);
+        return perRequestMapper.writer().with(mapping.getFilters()).writeValueAsBytes(mapping.getValue());
+    }
+
+    /** 변경 후 메시지 컨버터 경로 - ObjectMapper에 한번 등록한 FilterProvider를 사용한다 */
+    @Benchmark
+    public byte[] registeredFilter() throws Exception {
+        return registeredMapper.writer().writeValueAsBytes(value);
+    }
+
+    /** 변경 후 직접 직렬화 경로 - JsonViewWriters가 DTO 클래스별로 캐시한 ObjectWriter */
+    @Benchmark
+    public byte[] cachedWriter() throws Exception {
+        return cachedWriter.writeValueAsBytes(value);
+    }
+}
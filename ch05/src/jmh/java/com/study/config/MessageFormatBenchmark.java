@@ -0,0 +1,94 @@
+package com.study.config;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.study.BenchmarkApplication;
+import com.study.user.controller.v1.dto.UserDto;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+/**
+ * 사용자 100건(/v2/users?limit=100 응답과 같은 UserDto 목록)의 포맷별 직렬화/파싱 시간 비교
+ * MVC가 Accept에 따라 선택하는 메시지 컨버터의 ObjectMapper를 그대로 사용하므로 뷰 필터, 날짜 포맷, 생성된 직렬화 클래스가 응답과 같게 적용된다
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MessageFormatBenchmark {
+
+    private static final int USERS = 100;
+
+    @Param({"application/json", "application/xml", "application/x-jackson-smile", "application/cbor"})
+    private String format;
+
+    private ConfigurableApplicationContext context;
+    private List<UserDto> users;
+    private ObjectWriter writer;
+    private ObjectReader reader;
+    private byte[] serialized;
+
+    @Setup
+    public void setUp() throws Exception {
+        context = BenchmarkApplication.run();
+        ObjectMapper mapper = mapperFor(MediaType.parseMediaType(format));
+
+        LocalDateTime joinDate = LocalDateTime.of(2026, 10, 18, 14, 30, 5);
+        users = new ArrayList<>(USERS);
+        for (long id = 1; id <= USERS; id++) {
+            users.add(new UserDto(id, "user" + id, joinDate.plusMinutes(id), "701010-1111111", id % 5, 0L));
+        }
+        writer = mapper.writerFor(mapper.getTypeFactory().constructCollectionType(List.class, UserDto.class));
+        reader = mapper.readerFor(UserDto[].class);
+        serialized = writer.writeValueAsBytes(users);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] serialize() throws Exception {
+        return writer.writeValueAsBytes(users);
+    }
+
+    @Benchmark
+    public UserDto[] parse() throws Exception {
+        return reader.readValue(serialized);
+    }
+
+    /** 응답 시 선택되는 순서대로 컨버터를 찾는다 */
+    private ObjectMapper mapperFor(MediaType mediaType) {
+        for (HttpMessageConverter<?> converter : context.getBean(RequestMappingHandlerAdapter.class).getMessageConverters()) {
+            if (converter instanceof AbstractJackson2HttpMessageConverter && converter.canWrite(UserDto.class, mediaType)) {
+                return ((AbstractJackson2HttpMessageConverter) converter).getObjectMapper();
+            }
+        }
+        throw new IllegalStateException("No Jackson converter for " + mediaType);
+    }
+}
@@ -0,0 +1,93 @@
+package com.study.common.api;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+import com.study.common.dto.VersionStamp;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * 행 버전으로 ETag/Last-Modified 조건부 요청을 처리
+ * 엔티티를 읽거나 직렬화하기 전에 버전만 비교해서 304 응답 여부를 결정한다
+ */
+public final class ConditionalRequests {
+
+    private static final String GZIP_SUFFIX = "-gzip";
+
+    private ConditionalRequests() {
+    }
+
+    /**
+     * If-None-Match, If-Modified-Since 헤더를 확인하고 ETag, Last-Modified 응답 헤더를 설정한다
+     * true를 반환하면 응답 상태는 이미 304로 설정되어 있으므로 본문 없이 반환하면 된다
+     * 클라이언트가 gzip 표현의 ETag(gzipVariant)를 보내도 같은 버전이면 304로 응답하고, 304에는 그 ETag를 돌려준다
+     */
+    public static boolean checkNotModified(WebRequest request, String prefix, VersionStamp stamp) {
+        return checkNotModified(request, prefix, stamp, null);
+    }
+
+    /**
+     * 같은 버전이라도 표현(JSON, HAL, XML 등)마다 바이트가 다르므로 variant를 붙인 강한 ETag로 확인한다
+     * @param variant 선택된 표현의 구분 값(RepresentationCache.variant) - null이면 붙이지 않는다
+     */
+    public static boolean checkNotModified(WebRequest request, String prefix, VersionStamp stamp, String variant) {
+        String etag = variant == null ? etag(prefix, stamp) : withSuffix(etag(prefix, stamp), "-" + variant);
+        String[] ifNoneMatch = request.getHeaderValues(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null && String.join(",", ifNoneMatch).contains(gzipVariant(etag))) {
+            etag = gzipVariant(etag);
+        }
+        return request.checkNotModified(etag, lastModified(stamp));
+    }
+
+    /**
+     * gzip으로 인코딩한 표현의 ETag - 강한 ETag는 바이트 단위로 같은 표현에만 쓸 수 있으므로 인코딩하지 않은 표현과 구분한다
+     * (W/가 붙은 약한 ETag도 따옴표 안에 붙인다)
+     */
+    public static String gzipVariant(String etag) {
+        if (etag.endsWith(GZIP_SUFFIX + "\"")) {
+            return etag;
+        }
+        return withSuffix(etag, GZIP_SUFFIX);
+    }
+
+    private static String withSuffix(String etag, String suffix) {
+        return etag.substring(0, etag.length() - 1) + suffix + "\"";
+    }
+
+    /**
+     * If-Range 헤더가 없거나 현재 표현과 일치하는지 - 일치하지 않으면 Range를 무시하고 전체 본문을 200으로 응답해야 한다
+     * 스프링은 Range 요청을 처리할 때 If-Range를 확인하지 않으므로 Range 응답 전에 직접 확인한다
+     * ETag는 강한 비교(W/ ETag는 불일치)로, 날짜는 Last-Modified와 초 단위까지 같을 때만 일치로 본다
+     */
+    public static boolean ifRangeMatches(WebRequest request, String prefix, VersionStamp stamp) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        ifRange = ifRange.trim();
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return ifRange.equals(etag(prefix, stamp));
+        }
+        long lastModified = lastModified(stamp);
+        try {
+            long date = ZonedDateTime.parse(ifRange, DateTimeFormatter.RFC_1123_DATE_TIME).toEpochSecond();
+            return lastModified >= 0 && date == lastModified / 1000;
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
+
+    private static String etag(String prefix, VersionStamp stamp) {
+        return "\"" + prefix + stamp.getId() + "-" + stamp.getVersion() + "\"";
+    }
+
+    private static long lastModified(VersionStamp stamp) {
+        return stamp.getLastModified() == null
+                ? -1
+                : stamp.getLastModified().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,51 @@
+package com.study.common.api;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.study.common.dto.CursorPage;
+
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.Links;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+/**
+ * 커서 페이지의 next/prev 링크를 현재 요청 URL 기준으로 생성
+ */
+public final class CursorLinks {
+
+    private CursorLinks() {
+    }
+
+    public static List<Link> of(CursorPage<?> page, int limit) {
+        List<Link> links = new ArrayList<>(2);
+        if (page.getNextCursor() != null) {
+            links.add(Link.of(pageUri("after", page.getNextCursor(), limit), IanaLinkRelations.NEXT));
+        }
+        if (page.getPrevCursor() != null) {
+            links.add(Link.of(pageUri("before", page.getPrevCursor(), limit), IanaLinkRelations.PREV));
+        }
+        return links;
+    }
+
+    /** 본문 형태를 바꿀 수 없는 응답은 Link 헤더(RFC 8288)로 페이지 링크를 전달 */
+    public static HttpHeaders headers(CursorPage<?> page, int limit) {
+        HttpHeaders headers = new HttpHeaders();
+        List<Link> links = of(page, limit);
+        if (!links.isEmpty()) {
+            headers.add(HttpHeaders.LINK, Links.of(links).toString());
+        }
+        return headers;
+    }
+
+    private static String pageUri(String direction, String cursor, int limit) {
+        return ServletUriComponentsBuilder.fromCurrentRequest()
+            .replaceQueryParam("after")
+            .replaceQueryParam("before")
+            .replaceQueryParam(direction, cursor)
+            .replaceQueryParam("limit", limit)
+            .toUriString();
+    }
+}
@@ -0,0 +1,137 @@
+package com.study.common.api;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.servlet.http.HttpServletRequest;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.MethodParameter;
+import org.springframework.hateoas.Link;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ValueConstants;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+import org.springframework.web.util.UriUtils;
+
+/**
+ * 컨트롤러 메서드별 링크 템플릿 - 기동 시 요청 매핑에서 한번만 만든다
+ * WebMvcLinkBuilder.methodOn처럼 요청마다 프록시를 만들고 매핑을 조회하지 않고,
+ * 요청의 기준 URL(scheme://host:port/context-path)에 경로를 이어 붙이고 경로 변수만 치환한다
+ * 선택 @RequestParam은 methodOn에 null을 넘긴 것과 같이 {?name,...} 템플릿으로 남긴다
+ */
+@Component
+public class LinkTemplates {
+
+    private static final LinkTemplate AMBIGUOUS = new LinkTemplate(List.of(), List.of(), "");
+
+    private final Map<String, LinkTemplate> templates;
+
+    public LinkTemplates(@Qualifier("requestMappingHandlerMapping") RequestMappingHandlerMapping handlerMapping) {
+        Map<String, LinkTemplate> templates = new HashMap<>();
+        handlerMapping.getHandlerMethods().forEach((info, handlerMethod) -> templates.merge(
+            key(handlerMethod.getBeanType(), handlerMethod.getMethod().getName()),
+            LinkTemplate.of(info, handlerMethod),
+            (first, second) -> AMBIGUOUS)); // 오버로드된 메서드는 이름으로 구분할 수 없음
+        this.templates = Map.copyOf(templates);
+    }
+
+    /** 컨트롤러 메서드의 링크 - pathVariables로 경로 변수를 순서대로 치환한다 */
+    public Link link(Class<?> controller, String method, String rel, Object... pathVariables) {
+        LinkTemplate template = find(controller, method);
+        return Link.of(template.expand(baseUri(), pathVariables) + template.query, rel);
+    }
+
+    /** Location 헤더 등에 사용하는 URI - 쿼리 템플릿은 붙이지 않는다 */
+    public URI uri(Class<?> controller, String method, Object... pathVariables) {
+        return URI.create(find(controller, method).expand(baseUri(), pathVariables));
+    }
+
+    private LinkTemplate find(Class<?> controller, String method) {
+        LinkTemplate template = templates.get(key(controller, method));
+        if (template == null || template == AMBIGUOUS) {
+            throw new IllegalArgumentException(String.format("No unique request mapping for %s#%s", controller.getSimpleName(), method));
+        }
+        return template;
+    }
+
+    private static String key(Class<?> controller, String method) {
+        return controller.getName() + '#' + method;
+    }
+
+    /** ServletUriComponentsBuilder.fromCurrentServletMapping과 같은 기준 URL - DispatcherServlet은 "/"에 매핑되어 있다 */
+    private static String baseUri() {
+        HttpServletRequest request = ((ServletRequestAttributes) RequestContextHolder.currentRequestAttributes()).getRequest();
+        String scheme = request.getScheme();
+        int port = request.getServerPort();
+        StringBuilder uri = new StringBuilder(64).append(scheme).append("://").append(request.getServerName());
+        boolean defaultPort = ("http".equals(scheme) && port == 80) || ("https".equals(scheme) && port == 443);
+        if (port > 0 && !defaultPort) {
+            uri.append(':').append(port);
+        }
+        return uri.append(request.getContextPath()).toString();
+    }
+
+    /** 경로를 리터럴 조각과 변수로 나눠 둔 템플릿 - literals는 variables보다 항상 하나 많다 */
+    private static class LinkTemplate {
+        private final List<String> literals;
+        private final List<String> variables;
+        private final String query;
+
+        private LinkTemplate(List<String> literals, List<String> variables, String query) {
+            this.literals = literals;
+            this.variables = variables;
+            this.query = query;
+        }
+
+        private static LinkTemplate of(RequestMappingInfo info, HandlerMethod handlerMethod) {
+            String pattern = info.getPatternValues().iterator().next();
+            List<String> literals = new ArrayList<>();
+            List<String> variables = new ArrayList<>();
+            int start = 0;
+            int open;
+            while ((open = pattern.indexOf('{', start)) >= 0) {
+                int close = pattern.indexOf('}', open);
+                literals.add(pattern.substring(start, open));
+                String variable = pattern.substring(open + 1, close);
+                int regex = variable.indexOf(':');
+                variables.add(regex < 0 ? variable : variable.substring(0, regex)); // {id:\d+} 형태
+                start = close + 1;
+            }
+            literals.add(pattern.substring(start));
+
+            List<String> params = new ArrayList<>();
+            for (MethodParameter parameter : handlerMethod.getMethodParameters()) {
+                RequestParam requestParam = parameter.getParameterAnnotation(RequestParam.class);
+                if (requestParam == null || (requestParam.required() && ValueConstants.DEFAULT_NONE.equals(requestParam.defaultValue()))) {
+                    continue;
+                }
+                String name = StringUtils.hasLength(requestParam.name()) ? requestParam.name() : requestParam.value();
+                params.add(StringUtils.hasLength(name) ? name : parameter.getParameterName());
+            }
+            String query = params.isEmpty() ? "" : "{?" + String.join(",", params) + "}";
+            return new LinkTemplate(List.copyOf(literals), List.copyOf(variables), query);
+        }
+
+        private String expand(String baseUri, Object... values) {
+            if (values.length != variables.size()) {
+                throw new IllegalArgumentException(String.format("Expected path variables %s but got %d values", variables, values.length));
+            }
+            StringBuilder uri = new StringBuilder(baseUri.length() + 32).append(baseUri).append(literals.get(0));
+            for (int i = 0; i < values.length; i++) {
+                uri.append(UriUtils.encodePathSegment(String.valueOf(values[i]), StandardCharsets.UTF_8))
+                    .append(literals.get(i + 1));
+            }
+            return uri.toString();
+        }
+    }
+}
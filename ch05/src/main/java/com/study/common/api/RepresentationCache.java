@@ -0,0 +1,250 @@
+package com.study.common.api;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+import javax.servlet.http.HttpServletResponse;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.study.common.dto.VersionStamp;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.GenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+
+/**
+ * 자주 조회되는 GET 응답의 표현 캐시 - 직렬화된 바이트와 gzip 압축 바이트를 함께 저장한다
+ * 키는 (요청 URL, 리소스 버전, 미디어 타입, 뷰)이고, 리소스가 변경되면 버전이 바뀌므로 이전 항목은 더 이상 조회되지 않고 용량 제한에 따라 제거된다
+ * 적중하면 조회, 직렬화, 압축 없이 저장된 바이트를 Content-Encoding과 함께 그대로 응답한다
+ * ETag에는 선택된 미디어 타입(checkNotModified)과 gzip 여부(-gzip)를 붙여 표현마다 다른 강한 ETag가 되게 한다
+ * 직렬화는 MVC와 같은 메시지 컨버터와 미디어 타입 선택 규칙을 사용하므로 JSON, HAL, XML, Smile/CBOR 응답이 캐시하지 않을 때와 같다
+ * 용량은 항목 수가 아니라 저장된 바이트 수(max-bytes)로 제한한다
+ * 사용자별 게시글 목록은 항목이 많고 자주 바뀌므로 별도 영역(POST_LISTS, app.post.list-cache.max-bytes)에 두어 사용자 응답을 밀어내지 않게 한다
+ */
+@Component
+public class RepresentationCache {
+
+    public static final String REPRESENTATIONS = "representations";
+    public static final String POST_LISTS = "postLists";
+
+    private static final int ENTRY_OVERHEAD = 256; // 키, 헤더, 항목 객체가 차지하는 대략적인 바이트
+    private static final String GZIP = "gzip";
+    private static final List<String> VARY = List.of(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+
+    private final ResponseMediaTypes responseMediaTypes;
+    private final int gzipMinBytes;
+    private final Map<String, Cache<Key, Representation>> caches;
+
+    public RepresentationCache(ResponseMediaTypes responseMediaTypes, MeterRegistry meterRegistry,
+                               @Value("${app.cache.representation.max-bytes:32MB}") DataSize maxBytes,
+                               @Value("${app.post.list-cache.max-bytes:16MB}") DataSize postListMaxBytes,
+                               @Value("${app.cache.representation.gzip-min-bytes:256}") int gzipMinBytes) {
+        this.responseMediaTypes = responseMediaTypes;
+        this.gzipMinBytes = gzipMinBytes;
+        this.caches = Map.of(
+            REPRESENTATIONS, newCache(meterRegistry, REPRESENTATIONS, maxBytes),
+            POST_LISTS, newCache(meterRegistry, POST_LISTS, postListMaxBytes));
+    }
+
+    /** 저장된 바이트 수로 제한되는 캐시 영역 - 적중/누락 수는 cache.* 메트릭(cache=name)으로 내보낸다 */
+    private static Cache<Key, Representation> newCache(MeterRegistry meterRegistry, String name, DataSize maxBytes) {
+        Cache<Key, Representation> cache = Caffeine.newBuilder()
+            .maximumWeight(maxBytes.toBytes())
+            .weigher((Key key, Representation representation) -> representation.weight())
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, name);
+        return cache;
+    }
+
+    /**
+     * respond가 선택할 미디어 타입을 ETag에 붙여 조건부 요청을 확인한다 (ConditionalRequests.checkNotModified 참고)
+     * 응답할 수 없는 미디어 타입이면 구분 값 없이 확인하고, respond가 MVC로 넘겨 406으로 응답한다
+     */
+    public boolean checkNotModified(WebRequest request, String prefix, VersionStamp stamp, Class<?> bodyType) {
+        MediaType mediaType = responseMediaTypes.select(request, bodyType);
+        return ConditionalRequests.checkNotModified(request, prefix, stamp, mediaType == null ? null : variant(mediaType));
+    }
+
+    /** ETag에 붙일 표현 구분 값 - application 타입은 하위 타입만 사용한다 (json, hal+json, xml, x-jackson-smile, cbor) */
+    static String variant(MediaType mediaType) {
+        return "application".equals(mediaType.getType()) ? mediaType.getSubtype() : mediaType.getType() + "." + mediaType.getSubtype();
+    }
+
+    public ResponseEntity<?> respond(WebRequest request, long version, String view, Class<?> bodyType,
+                                     Supplier<ResponseEntity<?>> loader) {
+        return respond(REPRESENTATIONS, request, version, view, bodyType, loader);
+    }
+
+    /**
+     * version 시점의 응답 - 없으면 loader로 만든 응답(본문과 헤더)을 직렬화, 압축해서 저장한다 (같은 키의 동시 요청은 한번만 만든다)
+     * 요청한 미디어 타입으로 응답할 수 없으면 캐시하지 않고 loader의 응답을 그대로 반환해서 MVC가 처리(406 등)하도록 한다
+     * @param cacheName 저장할 캐시 영역(REPRESENTATIONS, POST_LISTS)
+     * @param view 본문에 적용되는 JSON 뷰(JsonViewRegistry) - 뷰가 없으면 null
+     * @param bodyType loader가 반환할 본문 타입 - 조회 전에 미디어 타입을 정하는 데 사용
+     */
+    public ResponseEntity<?> respond(String cacheName, WebRequest request, long version, String view, Class<?> bodyType,
+                                     Supplier<ResponseEntity<?>> loader) {
+        MediaType mediaType = responseMediaTypes.select(request, bodyType);
+        if (mediaType == null) {
+            return loader.get();
+        }
+        String url = ServletUriComponentsBuilder.fromCurrentRequest().toUriString(); // 링크가 요청 호스트 기준으로 만들어지므로 호스트까지 포함
+        Representation representation = caches.get(cacheName).get(new Key(url, version, mediaType, view),
+            key -> render(loader.get(), mediaType));
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(representation.headers);
+        headers.setContentType(representation.contentType);
+        headers.setVary(VARY);
+        if (representation.gzip != null && acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, GZIP);
+            useGzipEtag(request);
+            return new ResponseEntity<>(representation.gzip, headers, HttpStatus.OK);
+        }
+        return new ResponseEntity<>(representation.body, headers, HttpStatus.OK);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Representation render(ResponseEntity<?> entity, MediaType mediaType) {
+        Object body = entity.getBody();
+        for (HttpMessageConverter converter : responseMediaTypes.converters()) {
+            if (!ResponseMediaTypes.canWrite(converter, body.getClass(), mediaType)) {
+                continue;
+            }
+            BufferedOutputMessage output = new BufferedOutputMessage();
+            try {
+                if (converter instanceof GenericHttpMessageConverter) {
+                    ((GenericHttpMessageConverter) converter).write(body, null, mediaType, output);
+                } else {
+                    converter.write(body, mediaType, output);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            byte[] bytes = output.body.toByteArray();
+            return new Representation(bytes, compress(bytes), output.headers.getContentType(), entity.getHeaders());
+        }
+        throw new IllegalStateException(String.format("No converter for [%s] with Content-Type '%s'", body.getClass(), mediaType));
+    }
+
+    /** 작은 응답은 압축 효과가 없으므로 gzip-min-bytes 이상이고 실제로 줄어드는 경우만 저장 */
+    private byte[] compress(byte[] bytes) {
+        if (bytes.length < gzipMinBytes) {
+            return null;
+        }
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(bytes.length / 2);
+        try (OutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return compressed.size() < bytes.length ? compressed.toByteArray() : null;
+    }
+
+    /** ConditionalRequests.checkNotModified가 응답에 설정한 ETag를 gzip 표현의 ETag로 바꾼다 */
+    private static void useGzipEtag(WebRequest request) {
+        HttpServletResponse response = ((NativeWebRequest) request).getNativeResponse(HttpServletResponse.class);
+        String etag = response == null ? null : response.getHeader(HttpHeaders.ETAG);
+        if (etag != null) {
+            response.setHeader(HttpHeaders.ETAG, ConditionalRequests.gzipVariant(etag));
+        }
+    }
+
+    /** gzip을 명시한 항목이 있으면 그 품질값으로, 없으면 * 항목의 품질값으로 판단한다 (RFC 7231 5.3.4) */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Double gzip = null;
+        Double any = null;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            String name = parts[0].trim();
+            if (GZIP.equalsIgnoreCase(name)) {
+                gzip = quality(parts);
+            } else if ("*".equals(name)) {
+                any = quality(parts);
+            }
+        }
+        Double quality = gzip != null ? gzip : any;
+        return quality != null && quality > 0;
+    }
+
+    /** q 파라미터 값 - 없으면 1, 형식이 잘못되면 0 */
+    private static double quality(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String param = parts[i].trim();
+            if (param.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(param.substring(2));
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+
+    @EqualsAndHashCode
+    @AllArgsConstructor
+    private static class Key {
+        private final String url;
+        private final long version;
+        private final MediaType mediaType;
+        private final String view;
+    }
+
+    /** 직렬화된 본문, gzip 본문(압축하지 않으면 null), 컨버터가 정한 Content-Type, loader 응답의 헤더(Link 등) */
+    @AllArgsConstructor
+    private static class Representation {
+        private final byte[] body;
+        private final byte[] gzip;
+        private final MediaType contentType;
+        private final HttpHeaders headers;
+
+        private int weight() {
+            int headerBytes = headers.entrySet().stream()
+                .mapToInt(header -> header.getKey().length() + header.getValue().stream().mapToInt(String::length).sum())
+                .sum();
+            return body.length + (gzip == null ? 0 : gzip.length) + headerBytes * 2 + ENTRY_OVERHEAD;
+        }
+    }
+
+    private static class BufferedOutputMessage implements HttpOutputMessage {
+        private final HttpHeaders headers = new HttpHeaders();
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+        @Override
+        public OutputStream getBody() {
+            return body;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+}
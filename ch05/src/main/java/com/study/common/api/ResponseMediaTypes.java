@@ -0,0 +1,88 @@
+package com.study.common.api;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.GenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.accept.ContentNegotiationManager;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+/**
+ * 메시지 컨버터를 거치지 않고 응답을 만드는 곳(표현 캐시, 스트리밍 응답)에서 MVC와 같은 규칙으로 응답 미디어 타입을 선택
+ * produces로 핸들러를 나누면 Accept의 품질값(q)보다 나열 순서가 우선하므로, 한 핸들러 안에서 선택 결과로 분기한다
+ */
+@Component
+public class ResponseMediaTypes {
+
+    private final ContentNegotiationManager contentNegotiationManager;
+    private final ObjectProvider<RequestMappingHandlerAdapter> handlerAdapter;
+    private final Map<Class<?>, List<MediaType>> producibleTypes = new ConcurrentHashMap<>();
+
+    public ResponseMediaTypes(ContentNegotiationManager contentNegotiationManager,
+                              ObjectProvider<RequestMappingHandlerAdapter> handlerAdapter) {
+        this.contentNegotiationManager = contentNegotiationManager;
+        this.handlerAdapter = handlerAdapter;
+    }
+
+    /** MVC(AbstractMessageConverterMethodProcessor)와 같은 규칙으로 bodyType의 응답 미디어 타입을 선택 - 선택할 수 없으면 null */
+    public MediaType select(WebRequest request, Class<?> bodyType) {
+        List<MediaType> acceptableTypes;
+        try {
+            acceptableTypes = contentNegotiationManager.resolveMediaTypes((NativeWebRequest) request);
+        } catch (HttpMediaTypeNotAcceptableException e) {
+            return null;
+        }
+        List<MediaType> compatibleTypes = new ArrayList<>();
+        for (MediaType acceptableType : acceptableTypes) {
+            for (MediaType producibleType : producibleTypes.computeIfAbsent(bodyType, this::findProducibleTypes)) {
+                if (acceptableType.isCompatibleWith(producibleType)) {
+                    compatibleTypes.add(mostSpecific(acceptableType, producibleType));
+                }
+            }
+        }
+        MediaType.sortBySpecificityAndQuality(compatibleTypes);
+        for (MediaType type : compatibleTypes) {
+            if (type.isConcrete()) {
+                return type.removeQualityValue();
+            }
+        }
+        return null;
+    }
+
+    /** MVC가 응답 본문을 기록할 때 사용하는 메시지 컨버터 (순서 포함) */
+    public List<HttpMessageConverter<?>> converters() {
+        return handlerAdapter.getObject().getMessageConverters();
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static boolean canWrite(HttpMessageConverter converter, Class<?> type, MediaType mediaType) {
+        return converter instanceof GenericHttpMessageConverter
+            ? ((GenericHttpMessageConverter) converter).canWrite(type, type, mediaType)
+            : converter.canWrite(type, mediaType);
+    }
+
+    private List<MediaType> findProducibleTypes(Class<?> bodyType) {
+        List<MediaType> types = new ArrayList<>();
+        for (HttpMessageConverter<?> converter : converters()) {
+            if (canWrite(converter, bodyType, null)) {
+                types.addAll(converter.getSupportedMediaTypes(bodyType));
+            }
+        }
+        return types;
+    }
+
+    @SuppressWarnings("deprecation")
+    private static MediaType mostSpecific(MediaType acceptableType, MediaType producibleType) {
+        MediaType produceType = producibleType.copyQualityValue(acceptableType);
+        return MediaType.SPECIFICITY_COMPARATOR.compare(acceptableType, produceType) <= 0 ? acceptableType : produceType;
+    }
+}
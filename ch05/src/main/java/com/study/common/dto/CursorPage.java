@@ -0,0 +1,47 @@
+package com.study.common.dto;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 커서 기반 페이지 조회 결과
+ * nextCursor, prevCursor가 null이면 해당 방향으로 더 이상 페이지가 없다
+ */
+@Getter
+@AllArgsConstructor
+public class CursorPage<T> {
+    private final List<T> content;
+    private final String nextCursor;
+    private final String prevCursor;
+
+    /**
+     * 키셋으로 limit + 1건 조회한 결과를 페이지로 변환
+     * 이전 페이지(before)는 역순으로 조회되므로 뒤집고, 한 건 더 읽혔으면 그 방향으로 페이지가 더 있다
+     * @param cursor 행의 커서 문자열 - 다음 페이지는 마지막 행, 이전 페이지는 첫 행의 커서로 조회한다
+     */
+    public static <T> CursorPage<T> of(CursorRequest request, List<T> rows, Function<T, String> cursor) {
+        int limit = request.getLimit();
+        boolean hasMore = rows.size() > limit;
+        List<T> content = new ArrayList<>(rows.subList(0, Math.min(limit, rows.size())));
+        if (content.isEmpty()) {
+            return new CursorPage<>(content, null, null);
+        }
+
+        String first;
+        String last;
+        if (request.isBackward()) {
+            Collections.reverse(content);
+            first = hasMore ? cursor.apply(content.get(0)) : null;
+            last = cursor.apply(content.get(content.size() - 1));
+        } else {
+            first = request.getAfter() != null ? cursor.apply(content.get(0)) : null;
+            last = hasMore ? cursor.apply(content.get(content.size() - 1)) : null;
+        }
+        return new CursorPage<>(content, last, first);
+    }
+}
@@ -0,0 +1,49 @@
+package com.study.common.dto;
+
+import com.study.common.exception.InvalidCursorException;
+
+import lombok.Getter;
+
+/**
+ * 커서(keyset) 기반 페이지 요청
+ * after 커서가 있으면 다음 페이지, before 커서가 있으면 이전 페이지를 조회한다
+ */
+@Getter
+public class CursorRequest {
+
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int MAX_LIMIT = 100; /** 페이지 크기 상한 - 요청값이 더 커도 이 값으로 제한 */
+
+    private final String after;
+    private final String before;
+    private final int limit;
+
+    private CursorRequest(String after, String before, int limit) {
+        this.after = after;
+        this.before = before;
+        this.limit = limit;
+    }
+
+    public static CursorRequest of(String after, String before, Integer limit) {
+        if (after != null && before != null) {
+            throw new InvalidCursorException("after and before cannot be used together");
+        }
+        int size = limit == null ? DEFAULT_LIMIT : Math.max(1, Math.min(limit, MAX_LIMIT));
+        return new CursorRequest(after, before, size);
+    }
+
+    public boolean isBackward() {
+        return before != null;
+    }
+
+    public static Long parseLong(String cursor) {
+        if (cursor == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(cursor);
+        } catch (NumberFormatException e) {
+            throw new InvalidCursorException(String.format("Cursor[%s] is invalid", cursor));
+        }
+    }
+}
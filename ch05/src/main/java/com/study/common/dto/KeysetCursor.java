@@ -0,0 +1,50 @@
+package com.study.common.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.function.Function;
+
+import com.study.common.exception.InvalidCursorException;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * (시각, id) 복합 키 커서
+ * 시각만으로는 순서가 유일하지 않으므로 id를 함께 비교하며, 클라이언트에는 내부 구조를 숨긴 불투명 문자열로 전달한다
+ */
+@Getter
+@AllArgsConstructor
+public class KeysetCursor {
+
+    private static final char SEPARATOR = '|';
+
+    private final LocalDateTime time;
+    private final Long id;
+
+    /** 행의 (시각, id)로 커서 문자열을 만드는 함수 - CursorPage.of에 전달한다 */
+    public static <T> Function<T, String> encoder(Function<T, LocalDateTime> time, Function<T, Long> id) {
+        return row -> new KeysetCursor(time.apply(row), id.apply(row)).encode();
+    }
+
+    public String encode() {
+        String raw = time.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static KeysetCursor decode(String cursor) {
+        if (cursor == null) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            return new KeysetCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                                    Long.valueOf(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new InvalidCursorException(String.format("Cursor[%s] is invalid", cursor));
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.study.common.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 행의 id와 버전(수정 시각)만 담는 조회 결과
+ */
+@Getter
+@AllArgsConstructor
+public class VersionStamp {
+    private final Long id;
+    private final Long version;
+    private final LocalDateTime lastModified;
+
+    public VersionStamp(Long id, Long version) {
+        this(id, version, null);
+    }
+}
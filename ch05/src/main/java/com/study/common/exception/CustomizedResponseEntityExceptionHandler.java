@@ -2,6 +2,7 @@ package com.study.common.exception;
 
 import java.time.LocalDateTime;
 
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -31,6 +32,29 @@ public class CustomizedResponseEntityExceptionHandler extends ResponseEntityExce
         return new ResponseEntity(exceptionResponse, HttpStatus.NOT_FOUND);
     }
 
+    @ExceptionHandler(InvalidCursorException.class) // 잘못된 페이지 커서가 전달된 경우 이 핸들러가 실행됨
+    public final ResponseEntity<Object> handleInvalidCursorException(Exception ex, WebRequest request) {
+        ExceptionResponse exceptionResponse = new ExceptionResponse(LocalDateTime.now(), ex.getMessage(),
+                request.getDescription(false));
+        return new ResponseEntity(exceptionResponse, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class) // 같은 행을 동시에 수정해 버전이 충돌한 경우 이 핸들러가 실행됨
+    public final ResponseEntity<Object> handleOptimisticLockingFailureException(Exception ex, WebRequest request) {
+        ExceptionResponse exceptionResponse = new ExceptionResponse(LocalDateTime.now(),
+                "Resource was modified concurrently, retry the request", request.getDescription(false));
+        return new ResponseEntity(exceptionResponse, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(TooManyRequestsException.class) // 대기열이 가득 찬 경우 이 핸들러가 실행됨
+    public final ResponseEntity<Object> handleTooManyRequestsException(TooManyRequestsException ex, WebRequest request) {
+        ExceptionResponse exceptionResponse = new ExceptionResponse(LocalDateTime.now(), ex.getMessage(),
+                request.getDescription(false));
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()));
+        return new ResponseEntity(exceptionResponse, headers, HttpStatus.TOO_MANY_REQUESTS);
+    }
+
     /**
      * 밸리데이션 실패에 대한 응답을 처리하는 메서드 오버라이드 하여 구현
      */
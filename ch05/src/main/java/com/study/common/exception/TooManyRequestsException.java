@@ -0,0 +1,17 @@
+package com.study.common.exception;
+
+import lombok.Getter;
+
+/**
+ * 처리 대기열이 가득 차 요청을 받을 수 없는 경우 - 429 Too Many Requests와 Retry-After로 응답한다
+ */
+@Getter
+public class TooManyRequestsException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
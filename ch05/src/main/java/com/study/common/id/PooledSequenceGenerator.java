@@ -0,0 +1,31 @@
+package com.study.common.id;
+
+import java.util.Properties;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+/**
+ * 엔티티별 시퀀스에서 pooled-lo 방식으로 id를 할당하는 생성기
+ * 시퀀스를 한번 호출할 때마다 allocation-size 개의 id를 메모리에서 나눠주므로 insert마다 시퀀스를 조회하지 않는다
+ * allocation-size는 spring.jpa.properties.app.id.allocation-size로 설정한다
+ */
+public class PooledSequenceGenerator extends SequenceStyleGenerator {
+
+    public static final String ALLOCATION_SIZE = "app.id.allocation-size";
+    private static final int DEFAULT_ALLOCATION_SIZE = 50;
+
+    @Override
+    public void configure(Type type, Properties params, ServiceRegistry serviceRegistry) throws MappingException {
+        ConfigurationService configuration = serviceRegistry.getService(ConfigurationService.class);
+        int allocationSize = ConfigurationHelper.getInt(ALLOCATION_SIZE, configuration.getSettings(), DEFAULT_ALLOCATION_SIZE);
+
+        params.putIfAbsent(INCREMENT_PARAM, String.valueOf(allocationSize));
+        params.putIfAbsent(OPT_PARAM, "pooled-lo");
+        super.configure(type, params, serviceRegistry);
+    }
+}
@@ -0,0 +1,49 @@
+package com.study.common.json;
+
+import java.io.IOException;
+import java.util.Properties;
+import java.util.Set;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.study.common.view.JsonViewRegistry;
+
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.util.ClassUtils;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 빌드 시 @GenerateSerializer로 생성된 직렬화 클래스를 등록하는 Jackson 모듈
+ * 생성된 목록(META-INF/study/generated-serializers)은 기동 시 한번만 읽고, @JsonFilter 뷰가 지정된 DTO는 JsonViewRegistry의 프로퍼티만 기록하도록 생성한다
+ * 뷰가 ObjectMapper의 FilterProvider가 아니라 생성 시점에 정해지므로, 요청마다 다른 FilterProvider를 지정하는 방식(MappingJacksonValue)에는 사용할 수 없다
+ */
+@Slf4j
+public class GeneratedSerializerModule extends SimpleModule {
+
+    public static final String INDEX = "META-INF/study/generated-serializers";
+
+    public GeneratedSerializerModule() {
+        super(GeneratedSerializerModule.class.getSimpleName());
+        ClassLoader classLoader = ClassUtils.getDefaultClassLoader();
+        try {
+            Properties index = PropertiesLoaderUtils.loadAllProperties(INDEX, classLoader);
+            for (String type : index.stringPropertyNames()) {
+                register(ClassUtils.forName(type, classLoader), ClassUtils.forName(index.getProperty(type), classLoader));
+            }
+            log.debug("Registered {} generated serializers", index.size());
+        } catch (IOException | ReflectiveOperationException e) {
+            throw new IllegalStateException("Failed to load generated serializers from " + INDEX, e);
+        }
+    }
+
+    private <T> void register(Class<T> type, Class<?> serializerType) throws ReflectiveOperationException {
+        JsonFilter filter = AnnotationUtils.findAnnotation(type, JsonFilter.class);
+        Set<String> view = filter == null ? null : JsonViewRegistry.properties(filter.value());
+        @SuppressWarnings("unchecked")
+        JsonSerializer<T> serializer = (JsonSerializer<T>) serializerType.getConstructor(Set.class).newInstance(view);
+        addSerializer(type, serializer);
+    }
+}
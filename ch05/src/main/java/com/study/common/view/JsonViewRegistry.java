@@ -0,0 +1,48 @@
+package com.study.common.view;
+
+import java.util.Map;
+import java.util.Set;
+
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+
+/**
+ * 이름이 붙은 JSON 뷰 목록
+ * DTO 클래스의 @JsonFilter("뷰 이름")으로 뷰가 지정되고, 여기서 만든 FilterProvider를 ObjectMapper에 한번만 등록한다
+ * 요청마다 SimpleBeanPropertyFilter, SimpleFilterProvider, MappingJacksonValue를 새로 만들 필요가 없다
+ */
+public final class JsonViewRegistry {
+
+    public static final String USER_INFO = "UserInfo";
+    public static final String USER_INFO_V2 = "UserInfoV2";
+
+    private static final Map<String, Set<String>> VIEWS = Map.of(
+        USER_INFO, Set.of("id", "name", "joinDate", "ssn", "postCount"),
+        USER_INFO_V2, Set.of("id", "name", "joinDate", "ssn", "postCount", "grade")
+    );
+
+    private static final FilterProvider FILTER_PROVIDER = createFilterProvider();
+
+    private JsonViewRegistry() {
+    }
+
+    /** 뷰에서 노출하는 프로퍼티 이름 */
+    public static Set<String> properties(String view) {
+        Set<String> properties = VIEWS.get(view);
+        if (properties == null) {
+            throw new IllegalArgumentException(String.format("View[%s] is not registered", view));
+        }
+        return properties;
+    }
+
+    public static FilterProvider filterProvider() {
+        return FILTER_PROVIDER;
+    }
+
+    private static FilterProvider createFilterProvider() {
+        SimpleFilterProvider provider = new SimpleFilterProvider();
+        VIEWS.forEach((view, properties) -> provider.addFilter(view, SimpleBeanPropertyFilter.filterOutAllExcept(properties)));
+        return provider;
+    }
+}
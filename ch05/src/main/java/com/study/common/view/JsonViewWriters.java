@@ -0,0 +1,31 @@
+package com.study.common.view;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 메시지 컨버터를 거치지 않고 직접 직렬화하는 곳(스트리밍 응답 등)에서 사용하는 ObjectWriter 캐시
+ * 뷰는 DTO 클래스의 @JsonFilter로 정해지므로 DTO 클래스별로 한번만 만들어 재사용한다
+ */
+@Component
+@RequiredArgsConstructor
+public class JsonViewWriters {
+
+    private final ObjectMapper objectMapper;
+    private final Map<Class<?>, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+    /** 행마다 flush 하지 않도록 FLUSH_AFTER_WRITE_VALUE를 끈다 - 스트리밍 응답은 호출하는 쪽이 flush 주기를 정한다 */
+    public ObjectWriter writerFor(Class<?> type) {
+        return writers.computeIfAbsent(type, key -> objectMapper.writer(JsonViewRegistry.filterProvider())
+            .forType(key)
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE));
+    }
+}
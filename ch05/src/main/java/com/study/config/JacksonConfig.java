@@ -0,0 +1,32 @@
+package com.study.config;
+
+import com.study.common.json.GeneratedSerializerModule;
+import com.study.common.view.JsonViewRegistry;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JacksonConfig {
+
+    /**
+     * JSON, XML 메시지 컨버터의 ObjectMapper에 뷰 필터를 한번만 등록한다
+     * 컨트롤러는 MappingJacksonValue 없이 DTO를 그대로 반환하면 된다
+     */
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer jsonViewCustomizer() {
+        return builder -> builder.filters(JsonViewRegistry.filterProvider());
+    }
+
+    /**
+     * 빌드 시 생성한 DTO 직렬화 클래스 등록 - JSON, XML, Smile/CBOR 컨버터가 모두 같은 빌더로 만들어지므로 함께 적용된다
+     * app.json.generated-serializers=false 이면 Jackson 기본(리플렉션) 직렬화를 사용한다
+     */
+    @Bean
+    @ConditionalOnProperty(name = "app.json.generated-serializers", havingValue = "true", matchIfMissing = true)
+    public GeneratedSerializerModule generatedSerializerModule() {
+        return new GeneratedSerializerModule();
+    }
+}
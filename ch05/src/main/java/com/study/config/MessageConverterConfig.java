@@ -0,0 +1,44 @@
+package com.study.config;
+
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.hateoas.mediatype.hal.HalMediaTypeConfiguration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import lombok.RequiredArgsConstructor;
+
+@Configuration
+@RequiredArgsConstructor
+public class MessageConverterConfig implements WebMvcConfigurer {
+
+    private final Jackson2ObjectMapperBuilder objectMapperBuilder;
+    private final HalMediaTypeConfiguration halConfiguration;
+
+    /**
+     * 서비스 간 호출용 바이너리 포맷 - Accept: application/x-jackson-smile 또는 application/cbor
+     * Spring MVC는 라이브러리가 있으면 Smile/CBOR 컨버터를 기본 ObjectMapper 설정으로 등록하므로, JSON과 같은 빌더로 만든 컨버터로 교체한다
+     * 뷰 필터, 날짜 포맷이 JSON과 같게 적용되고, EntityModel은 JSON과 같은 HAL 구조로 직렬화된다
+     * 기본 컨버터 뒤에 두므로 Accept가 없거나 모든 타입을 허용하는 요청은 기존처럼 JSON으로 응답한다
+     */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.removeIf(converter -> converter instanceof MappingJackson2SmileHttpMessageConverter
+            || converter instanceof MappingJackson2CborHttpMessageConverter);
+        converters.add(new MappingJackson2SmileHttpMessageConverter(binaryMapper(new SmileFactory())));
+        converters.add(new MappingJackson2CborHttpMessageConverter(binaryMapper(new CBORFactory())));
+    }
+
+    private ObjectMapper binaryMapper(JsonFactory factory) {
+        return halConfiguration.configureObjectMapper(objectMapperBuilder.factory(factory).build());
+    }
+}
@@ -1,11 +1,9 @@
 package com.study.init;
 
-import java.util.ArrayList;
-import java.util.List;
-
 import javax.annotation.PostConstruct;
 
-import com.study.post.domain.Post;
+import com.study.post.controller.v2.dto.PostDto;
+import com.study.post.service.PostService;
 import com.study.user.domain.User;
 import com.study.user.service.UserService;
 
@@ -34,23 +32,25 @@ public class DataInitializer {
         @Autowired
         private UserService userService;
 
-        public void insertInitData() {
-            List<User> users = new ArrayList<>();
-            
-            users.add(createUser("user1", "test1", "701010-1111111", "post1"));
-            users.add(createUser("user2", "test2", "801111-2222222", "post2"));
-            users.add(createUser("user3", "test3", "901212-1111111", "post3"));
+        @Autowired
+        private PostService postService;
 
-            users.forEach(userService::saveUser);
+        public void insertInitData() {
+            createUser("user1", "test1", "701010-1111111", "post1");
+            createUser("user2", "test2", "801111-2222222", "post2");
+            createUser("user3", "test3", "901212-1111111", "post3");
         }
 
-        private User createUser(String name, String password, String ssn, String description) {
-            return User.builder()
-            .name(name)
-            .password(password)
-            .ssn(ssn)
-            .post(Post.builder().description(description).build())
-            .build();
+        /** 게시글 본문(PostBody)도 함께 저장되도록 게시글은 PostService로 등록 */
+        private void createUser(String name, String password, String ssn, String description) {
+            Long userId = userService.saveUser(User.builder()
+                .name(name)
+                .password(password)
+                .ssn(ssn)
+                .build());
+            PostDto post = new PostDto();
+            post.setDescription(description);
+            postService.savePostByUser(userId, post);
         }
     }
 }
@@ -1,17 +1,28 @@
 package com.study.post.controller.v2;
 
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Optional;
 
+import com.study.common.api.ConditionalRequests;
+import com.study.common.api.CursorLinks;
+import com.study.common.api.LinkTemplates;
+import com.study.common.api.RepresentationCache;
 import com.study.common.api.v2.V2Controller;
+import com.study.common.dto.CursorPage;
+import com.study.common.dto.CursorRequest;
+import com.study.common.dto.VersionStamp;
+import com.study.common.exception.PostNotFoundException;
 import com.study.common.exception.UserNotFoundException;
+import com.study.post.controller.v2.dto.PendingPostDto;
 import com.study.post.controller.v2.dto.PostDto;
 import com.study.post.service.PostService;
-import com.study.user.controller.v1.dto.UserDto;
-import com.study.user.service.UserService;
+import com.study.post.service.PostWriteBehindQueue;
 
+import org.springframework.core.io.ByteArrayResource;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
@@ -21,8 +32,9 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
-import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.context.request.WebRequest;
 
 import lombok.RequiredArgsConstructor;
 
@@ -30,31 +42,93 @@ import lombok.RequiredArgsConstructor;
 @RestController
 public class PostControllerV2 implements V2Controller {
 
-    private final UserService userService;
+    private static final MediaType TEXT_PLAIN_UTF8 = new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8);
+
     private final PostService postService;
+    private final PostWriteBehindQueue postWriteBehindQueue;
+    private final RepresentationCache representationCache;
+    private final LinkTemplates linkTemplates;
     
+    /**
+     * 사용자의 게시글을 작성 순서대로 페이지 조회 - 다음/이전 페이지는 Link 헤더로 전달
+     * 응답은 게시글 목록 버전별로 직렬화/압축된 바이트를 캐시(POST_LISTS 영역)해서 그대로 내려준다 - 적중하면 버전 조회 한번으로 응답
+     */
     @GetMapping("/users/{userId}/posts")
-    public List<PostDto> retrieveAllPostsByUser(@PathVariable("userId") Long userId) {
-        Optional<UserDto> user = userService.findOneUser(userId);
-        if (user.isEmpty()) {
+    public ResponseEntity<?> retrieveAllPostsByUser(@PathVariable("userId") Long userId,
+                                                    @RequestParam(name = "after", required = false) String after,
+                                                    @RequestParam(name = "before", required = false) String before,
+                                                    @RequestParam(name = "limit", required = false) Integer limit,
+                                                    WebRequest request) {
+        CursorRequest cursorRequest = CursorRequest.of(after, before, limit);
+        Optional<VersionStamp> version = postService.getPostsVersion(userId);
+        if (version.isEmpty()) {
             throw new UserNotFoundException(String.format("ID[%s] not found", userId));
         }
-        
-        return postService.getPostsByUser(userId); 
+        if (representationCache.checkNotModified(request, "posts-", version.get(), List.class)) {
+            return null; // 304 Not Modified - 게시글을 조회하지 않음
+        }
+
+        return representationCache.respond(RepresentationCache.POST_LISTS, request, version.get().getVersion(), null, List.class, () -> {
+            CursorPage<PostDto> page = postService.getPostPageByUser(userId, cursorRequest);
+            return new ResponseEntity<>(page.getContent(), CursorLinks.headers(page, cursorRequest.getLimit()), HttpStatus.OK);
+        });
     }
 
+    /**
+     * 쓰기 지연 모드(app.post.write-behind.enabled)이면 대기열에 넣고 202와 처리 상태 URL을 반환한다
+     * 대기열이 가득 차면 429와 Retry-After로 응답
+     */
     @PostMapping("/users/{userId}/posts")
     public ResponseEntity<Void> createPostByUser(@PathVariable("userId") Long userId, @RequestBody PostDto postDto) {
+        if (postWriteBehindQueue.isEnabled()) {
+            String ticket = postWriteBehindQueue.enqueue(userId, postDto.getDescription());
+            URI status = linkTemplates.uri(PostControllerV2.class, "retrievePendingPost", ticket);
+            return ResponseEntity.accepted().location(status).build();
+        }
+
         postService.savePostByUser(userId, postDto);
-        URI location = ServletUriComponentsBuilder.fromCurrentRequest().buildAndExpand().toUri();
+        URI location = linkTemplates.uri(PostControllerV2.class, "retrieveAllPostsByUser", userId);
         
         return ResponseEntity.created(location).build();
     }
 
+    /**
+     * 게시글 전체 내용 조회 - Range 요청을 지원하므로 긴 내용을 나눠 받거나 이어 받을 수 있다
+     * ETag(게시글 버전)로 조건부 요청과 If-Range를 처리한다
+     */
+    @GetMapping("/users/{userId}/posts/{postId}/body")
+    public ResponseEntity<?> retrievePostBody(@PathVariable("userId") Long userId,
+                                              @PathVariable("postId") Long postId,
+                                              WebRequest request) {
+        VersionStamp version = postService.getPostVersion(userId, postId)
+            .orElseThrow(() -> new PostNotFoundException(String.format("User ID[%s]'s post ID[%s] not found", userId, postId)));
+        if (ConditionalRequests.checkNotModified(request, "post-", version)) {
+            return null; // 304 Not Modified - 본문을 조회하지 않음
+        }
+
+        byte[] body = postService.getPostBody(postId);
+        if (!ConditionalRequests.ifRangeMatches(request, "post-", version)) {
+            // 받던 내용이 바뀌었으므로 Range를 무시하고 전체 본문 - Resource가 아닌 byte[]이면 Range가 적용되지 않는다
+            return ResponseEntity.ok().contentType(TEXT_PLAIN_UTF8).body(body);
+        }
+        return ResponseEntity.ok()
+            .contentType(TEXT_PLAIN_UTF8)
+            .body(new ByteArrayResource(body));
+    }
+
+    /**
+     * 쓰기 지연 모드로 접수된 게시글의 처리 상태 조회 - 처리 결과는 status-ttl 동안만 보관한다
+     */
+    @GetMapping("/posts/pending/{ticket}")
+    public PendingPostDto retrievePendingPost(@PathVariable("ticket") String ticket) {
+        return postWriteBehindQueue.getStatus(ticket)
+            .orElseThrow(() -> new PostNotFoundException(String.format("Ticket[%s] not found", ticket)));
+    }
+
     @PutMapping("/users/{userId}/posts")
     public ResponseEntity<Void> modifyPostByUser(@PathVariable("userId") Long userId, @RequestBody PostDto postDto) {
         postService.modifyPostByUser(userId, postDto);
-        URI location = ServletUriComponentsBuilder.fromCurrentRequest().buildAndExpand().toUri();
+        URI location = linkTemplates.uri(PostControllerV2.class, "retrieveAllPostsByUser", userId);
         MultiValueMap<String, String> headers = new LinkedMultiValueMap<>();
         headers.add("Location", location.toString());
         return new ResponseEntity<>(headers, HttpStatus.OK);
@@ -64,7 +138,7 @@ public class PostControllerV2 implements V2Controller {
     public ResponseEntity<Void> removePostByUser(@PathVariable("userId") Long userId,
                                                 @PathVariable("postId") Long postId) {
         postService.removePostByUser(userId, postId);
-        URI location = ServletUriComponentsBuilder.fromCurrentRequest().buildAndExpand().toUri();
+        URI location = linkTemplates.uri(PostControllerV2.class, "removePostByUser", userId, postId);
         MultiValueMap<String, String> headers = new LinkedMultiValueMap<>();
         headers.add("Location", location.toString());
         return new ResponseEntity<>(headers, HttpStatus.OK);
@@ -0,0 +1,29 @@
+package com.study.post.controller.v2.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 쓰기 지연(write-behind) 모드로 접수된 게시글의 처리 상태
+ * status는 PENDING, CREATED, FAILED 중 하나이며 CREATED일 때 postId, FAILED일 때 message가 채워진다
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter @Setter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PendingPostDto {
+
+    public static final String PENDING = "PENDING";
+    public static final String CREATED = "CREATED";
+    public static final String FAILED = "FAILED";
+
+    private String ticket;
+    private String status;
+    private Long userId;
+    private Long postId;
+    private String message;
+}
@@ -3,8 +3,10 @@ package com.study.post.controller.v2.dto;
 import java.time.LocalDateTime;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateTimeSerializer;
+import com.study.serializer.GenerateSerializer;
 
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -14,10 +16,14 @@ import lombok.Setter;
 @NoArgsConstructor
 @AllArgsConstructor
 @Getter @Setter
+@GenerateSerializer
 public class PostDto {
     private Long id;
 
-    private String description;
+    private String description; /** 목록 조회에서는 요약(Post.SUMMARY_LENGTH 글자)만 담긴다 */
+
+    @JsonInclude(JsonInclude.Include.NON_DEFAULT)
+    private boolean truncated; /** true이면 요약이므로 전체 내용은 /users/{userId}/posts/{postId}/body 로 조회 */
 
     @JsonSerialize(using = LocalDateTimeSerializer.class)
     @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss") /** JSON 날짜 응답 포맷 지정 */
@@ -0,0 +1,80 @@
+package com.study.post.controller.v3;
+
+import java.util.List;
+
+import com.study.common.api.CursorLinks;
+import com.study.common.api.v3.V3Controller;
+import com.study.common.dto.CursorPage;
+import com.study.common.dto.CursorRequest;
+import com.study.post.controller.v3.dto.PostFeedDto;
+import com.study.post.controller.v3.dto.PostSearchResponseDto;
+import com.study.post.search.PostSearchIndex;
+import com.study.post.service.PostService;
+
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.Links;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequiredArgsConstructor
+public class PostControllerV3 implements V3Controller {
+
+    private static final int MAX_PAGE = 49; /** 관련도 순 결과는 앞쪽만 의미가 있으므로 깊은 페이지는 제한 */
+
+    private final PostSearchIndex postSearchIndex;
+    private final PostService postService;
+
+    /**
+     * 전체 사용자의 최신 게시글 피드 - 다음/이전 페이지는 Link 헤더로 전달
+     */
+    @GetMapping("/posts/feed")
+    public ResponseEntity<List<PostFeedDto>> retrieveFeed(@RequestParam(name = "after", required = false) String after,
+                                                          @RequestParam(name = "before", required = false) String before,
+                                                          @RequestParam(name = "limit", required = false) Integer limit) {
+        CursorRequest request = CursorRequest.of(after, before, limit);
+        CursorPage<PostFeedDto> page = postService.getFeed(request);
+        return new ResponseEntity<>(page.getContent(), CursorLinks.headers(page, request.getLimit()), HttpStatus.OK);
+    }
+
+    /**
+     * 게시글 내용 검색 - 메모리 역색인에서 BM25 점수 순으로 조회하며 DB를 조회하지 않는다
+     * 다음/이전 페이지는 Link 헤더로 전달
+     */
+    @GetMapping("/posts/search")
+    public ResponseEntity<PostSearchResponseDto> searchPosts(@RequestParam("q") String query,
+                                                             @RequestParam(name = "page", defaultValue = "0") int page,
+                                                             @RequestParam(name = "size", required = false) Integer size) {
+        int pageNumber = Math.max(0, Math.min(page, MAX_PAGE));
+        int pageSize = size == null ? CursorRequest.DEFAULT_LIMIT : Math.max(1, Math.min(size, CursorRequest.MAX_LIMIT));
+        PostSearchResponseDto result = postSearchIndex.search(query, pageNumber, pageSize);
+
+        Links links = Links.NONE;
+        if ((long) (pageNumber + 1) * pageSize < result.getTotal() && pageNumber < MAX_PAGE) {
+            links = links.and(Link.of(pageUri(pageNumber + 1, pageSize), IanaLinkRelations.NEXT));
+        }
+        if (pageNumber > 0) {
+            links = links.and(Link.of(pageUri(pageNumber - 1, pageSize), IanaLinkRelations.PREV));
+        }
+        HttpHeaders headers = new HttpHeaders();
+        if (!links.isEmpty()) {
+            headers.add(HttpHeaders.LINK, links.toString());
+        }
+        return new ResponseEntity<>(result, headers, HttpStatus.OK);
+    }
+
+    private static String pageUri(int page, int size) {
+        return ServletUriComponentsBuilder.fromCurrentRequest()
+            .replaceQueryParam("page", page)
+            .replaceQueryParam("size", size)
+            .toUriString();
+    }
+}
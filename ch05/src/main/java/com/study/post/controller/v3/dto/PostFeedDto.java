@@ -0,0 +1,36 @@
+package com.study.post.controller.v3.dto;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateTimeSerializer;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 전체 사용자 최신 게시글 피드 항목 - 작성자 이름을 같은 쿼리에서 함께 조회한다
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter @Setter
+public class PostFeedDto {
+    private Long id;
+
+    private Long userId;
+
+    private String userName;
+
+    private String description; /** 요약(Post.SUMMARY_LENGTH 글자) */
+
+    @JsonInclude(JsonInclude.Include.NON_DEFAULT)
+    private boolean truncated;
+
+    @JsonSerialize(using = LocalDateTimeSerializer.class)
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss") /** JSON 날짜 응답 포맷 지정 */
+    private LocalDateTime createDate;
+}
@@ -0,0 +1,28 @@
+package com.study.post.controller.v3.dto;
+
+import java.util.List;
+
+import com.study.common.dto.BaseDto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter @Setter
+@NoArgsConstructor
+public class PostSearchResponseDto extends BaseDto {
+
+    private String query;
+    private int total; /** 검색어와 일치하는 전체 게시글 수 */
+    private int page;
+    private int size;
+    private List<PostSearchResultDto> posts;
+
+    public PostSearchResponseDto(String query, int total, int page, int size, List<PostSearchResultDto> posts) {
+        this.query = query;
+        this.total = total;
+        this.page = page;
+        this.size = size;
+        this.posts = posts;
+    }
+}
@@ -0,0 +1,24 @@
+package com.study.post.controller.v3.dto;
+
+import java.time.LocalDateTime;
+
+import com.study.post.controller.v2.dto.PostDto;
+
+import lombok.Getter;
+
+/**
+ * 여러 사용자의 최근 게시글 조회 결과 한 행 - 사용자별로 묶은 뒤 응답에는 post만 사용한다
+ */
+@Getter
+public class UserPostDto {
+    private final Long userId;
+
+    private final PostDto post;
+
+    /** Post.findLatestByUserIds 네이티브 쿼리의 결과 매핑 생성자 */
+    public UserPostDto(Long userId, Long id, String summary, Boolean truncated, LocalDateTime createDate,
+                       LocalDateTime updateDate) {
+        this.userId = userId;
+        this.post = new PostDto(id, summary, Boolean.TRUE.equals(truncated), createDate, updateDate);
+    }
+}
@@ -3,16 +3,28 @@ package com.study.post.domain;
 import java.time.LocalDateTime;
 
 import javax.persistence.Column;
+import javax.persistence.ColumnResult;
+import javax.persistence.ConstructorResult;
 import javax.persistence.Entity;
 import javax.persistence.EntityListeners;
 import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
+import javax.persistence.NamedNativeQuery;
+import javax.persistence.SqlResultSetMapping;
+import javax.persistence.Table;
+import javax.persistence.Version;
 
+import com.study.post.controller.v3.dto.UserPostDto;
 import com.study.user.domain.User;
 
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -27,12 +39,42 @@ import lombok.Setter;
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @Getter
 @Entity
+@Table(indexes = {
+    @Index(name = "idx_post_user_id", columnList = "USER_ID, id"), /** 사용자의 게시글 한건 수정/삭제용 */
+    @Index(name = "idx_post_user_create_date", columnList = "USER_ID, createDate, id"), /** 사용자별 게시글 키셋 페이지 조회용 */
+    @Index(name = "idx_post_create_date", columnList = "createDate DESC, id DESC"), /** 전체 게시글 피드(최신순) 키셋 페이지 조회용 */
+    @Index(name = "idx_post_update_date", columnList = "updateDate") /** 검색 색인 보정 시 최근 변경된 게시글 조회용 */
+})
+@NamedNativeQuery(name = "Post.findLatestByUserIds", resultSetMapping = "UserPostDto",
+    query = "select ranked.user_id, ranked.id, ranked.summary, ranked.truncated, ranked.create_date, ranked.update_date"
+        + " from (select p.user_id, p.id, p.summary, p.truncated, p.create_date, p.update_date,"
+        + " row_number() over (partition by p.user_id order by p.create_date desc, p.id desc) as rn"
+        + " from post p where p.user_id in (:userIds)) ranked"
+        + " where ranked.rn <= :limit order by ranked.user_id, ranked.rn")
+@SqlResultSetMapping(name = "UserPostDto", classes = @ConstructorResult(targetClass = UserPostDto.class, columns = {
+    @ColumnResult(name = "user_id", type = Long.class),
+    @ColumnResult(name = "id", type = Long.class),
+    @ColumnResult(name = "summary", type = String.class),
+    @ColumnResult(name = "truncated", type = Boolean.class),
+    @ColumnResult(name = "create_date", type = LocalDateTime.class),
+    @ColumnResult(name = "update_date", type = LocalDateTime.class)
+}))
 public class Post {
-    @Id @GeneratedValue
+
+    public static final int SUMMARY_LENGTH = 200; /** 목록 응답에 쓰는 요약 길이 - 전체 내용은 PostBody에 저장 */
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "post_id_generator")
+    @GenericGenerator(name = "post_id_generator", strategy = "com.study.common.id.PooledSequenceGenerator",
+        parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "post_seq"))
     private Long id;
 
-    @Setter
-    String description;
+    /** 내용의 앞부분 - 목록/피드/검색 결과는 이 컬럼만 읽는다 */
+    @Column(length = SUMMARY_LENGTH)
+    private String summary;
+
+    /** 내용이 요약보다 길면 true - 전체 내용은 게시글 본문 조회로 받는다 */
+    private boolean truncated;
 
     @Setter
     @JoinColumn(name = "USER_ID")
@@ -46,9 +88,22 @@ public class Post {
     @LastModifiedDate
     private LocalDateTime updateDate;
 
+    @Version
+    private Long version;
+
     @Builder
     public Post(String description, User user) {
-        this.description = description;
+        this.summary = summarize(description);
+        this.truncated = description != null && description.length() > summary.length();
         this.user = user;
     }
+
+    /** 내용의 앞 SUMMARY_LENGTH 글자 - 서로게이트 쌍이 잘리지 않도록 자른다 */
+    public static String summarize(String description) {
+        if (description == null || description.length() <= SUMMARY_LENGTH) {
+            return description;
+        }
+        int end = Character.isHighSurrogate(description.charAt(SUMMARY_LENGTH - 1)) ? SUMMARY_LENGTH - 1 : SUMMARY_LENGTH;
+        return description.substring(0, end);
+    }
 }
@@ -0,0 +1,84 @@
+package com.study.post.domain;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.FetchType;
+import javax.persistence.Id;
+import javax.persistence.JoinColumn;
+import javax.persistence.Lob;
+import javax.persistence.MapsId;
+import javax.persistence.OneToOne;
+
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 게시글 전체 내용 - 게시글 행과 분리해 목록 조회가 큰 내용을 읽지 않도록 한다
+ * 게시글과 같은 id를 사용하며 게시글이 삭제되면 DB에서 함께 삭제된다(on delete cascade)
+ * 긴 내용은 gzip으로 압축해 저장한다
+ */
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Getter
+@Entity
+public class PostBody {
+
+    @Id
+    private Long postId;
+
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "POST_ID")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Post post;
+
+    @Lob
+    @Column(nullable = false)
+    private byte[] content;
+
+    private boolean compressed;
+
+    public PostBody(Post post, String description, boolean compressed) {
+        this.post = post;
+        this.content = encode(description, compressed);
+        this.compressed = compressed;
+    }
+
+    /** 내용을 UTF-8로, compressed이면 gzip으로 압축해서 저장할 바이트로 변환 */
+    public static byte[] encode(String description, boolean compressed) {
+        byte[] bytes = (description == null ? "" : description).getBytes(StandardCharsets.UTF_8);
+        if (!compressed) {
+            return bytes;
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 2);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /** 저장된 바이트를 UTF-8 내용 바이트로 복원 */
+    public static byte[] decode(byte[] content, boolean compressed) {
+        if (!compressed) {
+            return content;
+        }
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(content))) {
+            return gzip.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.study.post.event;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 게시글 등록/수정/삭제 이벤트 - 트랜잭션 커밋 후 검색 색인 등 파생 데이터 갱신에 사용
+ * 수정 이벤트는 게시글을 조회하지 않고 발행하므로 createDate가 null일 수 있다
+ */
+@Getter
+@AllArgsConstructor
+public class PostChangedEvent {
+
+    private final Long postId;
+    private final Long userId;
+    private final String description;
+    private final LocalDateTime createDate;
+    private final boolean removed;
+
+    public static PostChangedEvent saved(Long postId, Long userId, String description, LocalDateTime createDate) {
+        return new PostChangedEvent(postId, userId, description, createDate, false);
+    }
+
+    public static PostChangedEvent removed(Long postId, Long userId) {
+        return new PostChangedEvent(postId, userId, null, null, true);
+    }
+}
@@ -0,0 +1,17 @@
+package com.study.post.event;
+
+import java.util.Collection;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 사용자 삭제로 해당 사용자들의 게시글이 일괄 삭제되었음을 알리는 이벤트
+ * 게시글을 읽지 않고 삭제하므로 게시글 id 대신 사용자 id를 전달한다
+ */
+@Getter
+@AllArgsConstructor
+public class UserPostsRemovedEvent {
+
+    private final Collection<Long> userIds;
+}
@@ -0,0 +1,16 @@
+package com.study.post.repository;
+
+import com.study.post.domain.PostBody;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface PostBodyRepository extends JpaRepository<PostBody, Long> {
+
+    /** 게시글 본문 교체 - 게시글 소유자 확인은 PostRepository.updateSummary로 먼저 한다 */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update PostBody b set b.content = :content, b.compressed = :compressed where b.postId = :postId")
+    int updateContent(@Param("postId") Long postId, @Param("content") byte[] content, @Param("compressed") boolean compressed);
+}
@@ -1,19 +1,112 @@
 package com.study.post.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import javax.persistence.QueryHint;
+
+import com.study.common.dto.VersionStamp;
+import com.study.post.controller.v2.dto.PostDto;
+import com.study.post.controller.v3.dto.PostFeedDto;
+import com.study.post.controller.v3.dto.UserPostDto;
 import com.study.post.domain.Post;
+import com.study.post.search.PostDocument;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 public interface PostRepository extends JpaRepository<Post, Long>{
 
-    @Query("select p from Post p join p.user on p.user.id = :userId")
-    List<Post> getPostsByUser(@Param("userId") Long userId);
+    String POST_DTO = "new com.study.post.controller.v2.dto.PostDto(p.id, p.summary, p.truncated, p.createDate, p.updateDate)";
+
+    /** 사용자의 첫 페이지 - (user_id, create_date, id) 인덱스 순서대로 pageable의 size만큼만 읽는다 */
+    @Query("select " + POST_DTO + " from Post p where p.user.id = :userId order by p.createDate asc, p.id asc")
+    List<PostDto> findPageByUser(@Param("userId") Long userId, Pageable pageable);
+
+    /**
+     * (createDate, id) 커서 이후의 게시글을 오름차순으로 조회
+     * 앞쪽의 createDate 범위 조건으로 인덱스 범위 검색을 하고, 같은 시각인 행만 id로 한번 더 거른다
+     */
+    @Query("select " + POST_DTO + " from Post p where p.user.id = :userId"
+        + " and p.createDate >= :createDate and (p.createDate > :createDate or p.id > :id)"
+        + " order by p.createDate asc, p.id asc")
+    List<PostDto> findPageByUserAfter(@Param("userId") Long userId, @Param("createDate") LocalDateTime createDate,
+                                      @Param("id") Long id, Pageable pageable);
+
+    /** (createDate, id) 커서 이전의 게시글을 내림차순으로 조회 - 이전 페이지 조회용 */
+    @Query("select " + POST_DTO + " from Post p where p.user.id = :userId"
+        + " and p.createDate <= :createDate and (p.createDate < :createDate or p.id < :id)"
+        + " order by p.createDate desc, p.id desc")
+    List<PostDto> findPageByUserBefore(@Param("userId") Long userId, @Param("createDate") LocalDateTime createDate,
+                                       @Param("id") Long id, Pageable pageable);
+
+    /**
+     * 여러 사용자의 최근 게시글을 사용자마다 limit건까지 한번에 조회 (Post 엔티티의 네이티브 쿼리)
+     * 사용자별 건수 제한은 JPQL로 표현할 수 없어 ROW_NUMBER 윈도 함수를 사용하며, user_id 조건은 (user_id, create_date, id) 인덱스로 찾는다
+     */
+    @Query(name = "Post.findLatestByUserIds", nativeQuery = true)
+    List<UserPostDto> findLatestByUserIds(@Param("userIds") Collection<Long> userIds, @Param("limit") int limit);
+
+    String POST_FEED_DTO = "new com.study.post.controller.v3.dto.PostFeedDto(p.id, u.id, u.name, p.summary, p.truncated, p.createDate)";
+
+    /** 피드 첫 페이지 - 작성자 이름을 join으로 함께 읽어 Post.user 지연 로딩이 발생하지 않는다 */
+    @Query("select " + POST_FEED_DTO + " from Post p join p.user u order by p.createDate desc, p.id desc")
+    List<PostFeedDto> findFeed(Pageable pageable);
+
+    /** (createDate, id) 커서보다 오래된 게시글을 최신순으로 조회 */
+    @Query("select " + POST_FEED_DTO + " from Post p join p.user u"
+        + " where p.createDate <= :createDate and (p.createDate < :createDate or p.id < :id)"
+        + " order by p.createDate desc, p.id desc")
+    List<PostFeedDto> findFeedAfter(@Param("createDate") LocalDateTime createDate, @Param("id") Long id, Pageable pageable);
+
+    /** (createDate, id) 커서보다 최근 게시글을 오래된순으로 조회 - 이전 페이지 조회용 */
+    @Query("select " + POST_FEED_DTO + " from Post p join p.user u"
+        + " where p.createDate >= :createDate and (p.createDate > :createDate or p.id > :id)"
+        + " order by p.createDate asc, p.id asc")
+    List<PostFeedDto> findFeedBefore(@Param("createDate") LocalDateTime createDate, @Param("id") Long id, Pageable pageable);
+
+    /** 검색 색인 구축용 - 전체 게시글을 커서로 읽어 스트림으로 전달 (트랜잭션 안에서 사용하고 닫아야 한다) */
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select new com.study.post.search.PostDocument(p.id, p.user.id, b.content, b.compressed, p.createDate)"
+        + " from PostBody b join b.post p")
+    Stream<PostDocument> streamAllDocuments();
+
+    /** 검색 색인 보정용 - since 이후 등록/수정된 게시글만 스트림으로 전달 (트랜잭션 안에서 사용하고 닫아야 한다) */
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select new com.study.post.search.PostDocument(p.id, p.user.id, b.content, b.compressed, p.createDate)"
+        + " from PostBody b join b.post p where p.updateDate >= :since")
+    Stream<PostDocument> streamDocumentsUpdatedSince(@Param("since") LocalDateTime since);
+
+    /** 사용자들의 게시글 id - 검색 색인에서 이미 삭제된 게시글을 찾는 데 사용 */
+    @Query("select p.id from Post p where p.user.id in :userIds")
+    List<Long> findIdsByUserIds(@Param("userIds") Collection<Long> userIds);
+
+    /** 사용자의 게시글 요약 수정 - 엔티티를 읽지 않으므로 수정 시각과 버전도 직접 갱신한다 (본문은 PostBodyRepository.updateContent) */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Post p set p.summary = :summary, p.truncated = :truncated, p.updateDate = :now, p.version = p.version + 1"
+        + " where p.id = :postId and p.user.id = :userId")
+    int updateSummary(@Param("userId") Long userId, @Param("postId") Long postId, @Param("summary") String summary,
+                      @Param("truncated") boolean truncated, @Param("now") LocalDateTime now);
+
+    /** 게시글 본문 조회 전 조건부 요청 처리용 - 게시글의 버전과 수정 시각만 조회 */
+    @Query("select new com.study.common.dto.VersionStamp(p.id, p.version, p.updateDate) from Post p"
+        + " where p.id = :postId and p.user.id = :userId")
+    Optional<VersionStamp> findVersionByUser(@Param("userId") Long userId, @Param("postId") Long postId);
+
+    /** 사용자의 게시글 한건 삭제 */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Post p where p.id = :postId and p.user.id = :userId")
+    int deleteByUser(@Param("userId") Long userId, @Param("postId") Long postId);
 
-    @Query("select p from Post p join p.user on p.user.id = :userId and p.id = :postId")
-    Optional<Post> getPostByUser(@Param("userId") Long userId, @Param("postId")Long postId);
+    /** 사용자들의 게시글을 엔티티로 읽지 않고 한번에 삭제 */
+    @Modifying(flushAutomatically = true)
+    @Query("delete from Post p where p.user.id in :userIds")
+    int deleteByUserIds(@Param("userIds") Collection<Long> userIds);
 }
@@ -0,0 +1,27 @@
+package com.study.post.search;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import com.study.post.domain.PostBody;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 검색 색인에 보관하는 게시글 - 검색 결과를 DB 조회 없이 응답하기 위해 필요한 컬럼만 가진다
+ */
+@Getter
+@AllArgsConstructor
+public class PostDocument {
+
+    private final Long id;
+    private final Long userId;
+    private final String description;
+    private final LocalDateTime createDate;
+
+    /** 색인 구축 시 저장된 본문으로 만드는 생성자 */
+    public PostDocument(Long id, Long userId, byte[] content, boolean compressed, LocalDateTime createDate) {
+        this(id, userId, new String(PostBody.decode(content, compressed), StandardCharsets.UTF_8), createDate);
+    }
+}
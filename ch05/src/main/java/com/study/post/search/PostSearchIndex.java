@@ -0,0 +1,379 @@
+package com.study.post.search;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import com.study.post.controller.v3.dto.PostSearchResponseDto;
+import com.study.post.controller.v3.dto.PostSearchResultDto;
+import com.study.post.domain.Post;
+import com.study.post.event.PostChangedEvent;
+import com.study.post.event.UserPostsRemovedEvent;
+import com.study.post.service.PostService;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 게시글 내용(description)에 대한 메모리 역색인
+ * 기동 시 전체 게시글로 한번 만들고, 이후에는 커밋된 게시글 변경 이벤트로 문서 단위로 갱신한다
+ * 이벤트는 이 노드의 변경만 전달되므로 다른 노드의 변경은 catch-up-interval-ms 주기로 DB에서 다시 읽어 반영한다
+ * 검색은 DB를 조회하지 않고 BM25 점수 순으로 정렬해 응답한다
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PostSearchIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int BATCH_SIZE = 1000; /** IN 절에 넣을 최대 id 개수 */
+
+    private final PostService postService;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Map<Long, Integer>> postings = new HashMap<>(); // 단어 -> (게시글 id -> 단어 빈도)
+    private final Map<Long, IndexedPost> posts = new HashMap<>();
+    private final Map<Long, Set<Long>> postIdsByUser = new HashMap<>();
+    private long totalLength;
+
+    private final Object pendingLock = new Object();
+    private List<Object> pendingEvents; // 색인 구축 중 받은 이벤트 - 구축이 끝나면 받은 순서대로 다시 적용한다
+    private volatile LocalDateTime checkedAt; // 이 시각 이전의 DB 변경은 색인에 반영됨 - 구축 전이면 null
+
+    @Value("${app.post.search.catch-up-overlap-ms:10000}")
+    private long catchUpOverlapMs;
+
+    /**
+     * 전체 게시글로 색인 구축
+     * 스트림으로 읽는 동안 커밋된 변경은 이미 읽은 행을 되돌릴 수 있으므로 이벤트를 모아 두었다가 구축 후 다시 적용한다
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        long start = System.currentTimeMillis();
+        LocalDateTime startedAt = LocalDateTime.now();
+        synchronized (pendingLock) {
+            pendingEvents = new ArrayList<>();
+        }
+        postService.forEachDocument(this::put);
+        int replayed;
+        synchronized (pendingLock) { // 다시 적용하는 동안 들어온 이벤트는 그 뒤에 적용되도록 잠근 채로 적용
+            replayed = pendingEvents.size();
+            pendingEvents.forEach(this::apply);
+            pendingEvents = null;
+        }
+        checkedAt = startedAt;
+        log.info("Post search index built: {} posts, {} terms, {} events replayed in {} ms", size(), termCount(), replayed,
+                 System.currentTimeMillis() - start);
+    }
+
+    @TransactionalEventListener
+    public void onPostChanged(PostChangedEvent event) {
+        accept(event);
+    }
+
+    @TransactionalEventListener
+    public void onUserPostsRemoved(UserPostsRemovedEvent event) {
+        accept(event);
+    }
+
+    /**
+     * 다른 노드의 변경을 DB에서 다시 읽어 반영 - 마지막 확인 시각(늦게 커밋된 변경을 위해 catch-up-overlap-ms만큼 앞당김) 이후
+     * 등록/수정된 게시글은 다시 넣고, 게시글 목록이 바뀐 사용자와 삭제된 사용자의 게시글 중 DB에 없는 것은 뺀다
+     * 읽은 뒤 이 노드의 이벤트가 먼저 적용되어 이전 값으로 덮어써도 그 변경은 다음 확인 범위에 들어가므로 다음 주기에 바로잡힌다
+     */
+    @Scheduled(fixedDelayString = "${app.post.search.catch-up-interval-ms:60000}",
+               initialDelayString = "${app.post.search.catch-up-interval-ms:60000}")
+    public void catchUp() {
+        if (checkedAt == null) {
+            return;
+        }
+        LocalDateTime startedAt = LocalDateTime.now();
+        LocalDateTime since = checkedAt.minus(Duration.ofMillis(catchUpOverlapMs));
+
+        int[] updated = {0};
+        postService.forEachDocumentUpdatedSince(since, document -> {
+            put(document);
+            updated[0]++;
+        });
+        int removed = removeMissingPosts(postService.findUserIdsWithPostsChangedSince(since)) + removeMissingUsers();
+        checkedAt = startedAt;
+        log.debug("Post search index caught up: {} posts updated, {} removed", updated[0], removed);
+    }
+
+    /**
+     * 게시글을 색인에 추가하거나 교체 - 수정 이벤트처럼 createDate가 없으면 기존 값을 유지한다
+     * 단어는 전체 내용에서 추출하고, 검색 결과에 보여줄 내용은 요약만 보관한다
+     */
+    public void put(PostDocument document) {
+        Map<String, Integer> termFrequencies = termFrequencies(document.getDescription());
+        document = new PostDocument(document.getId(), document.getUserId(), Post.summarize(document.getDescription()),
+                                    document.getCreateDate());
+        lock.writeLock().lock();
+        try {
+            IndexedPost previous = removeInternal(document.getId());
+            if (document.getCreateDate() == null && previous != null) {
+                document = new PostDocument(document.getId(), document.getUserId(), document.getDescription(),
+                                            previous.document.getCreateDate());
+            }
+            int length = 0;
+            for (Map.Entry<String, Integer> term : termFrequencies.entrySet()) {
+                postings.computeIfAbsent(term.getKey(), key -> new HashMap<>()).put(document.getId(), term.getValue());
+                length += term.getValue();
+            }
+            posts.put(document.getId(), new IndexedPost(document, termFrequencies.keySet(), length));
+            postIdsByUser.computeIfAbsent(document.getUserId(), key -> new HashSet<>()).add(document.getId());
+            totalLength += length;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long postId) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(postId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 사용자들의 게시글을 모두 색인에서 제거
+     * @return 제거된 게시글 수
+     */
+    public int removeUsers(Collection<Long> userIds) {
+        int removed = 0;
+        lock.writeLock().lock();
+        try {
+            for (Long userId : userIds) {
+                Set<Long> postIds = postIdsByUser.remove(userId);
+                if (postIds != null) {
+                    postIds.forEach(this::removeInternal);
+                    removed += postIds.size();
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return removed;
+    }
+
+    /**
+     * 검색어의 단어 중 하나 이상을 포함한 게시글을 BM25 점수 순(같으면 최신 id 순)으로 페이지 조회
+     * 요청 페이지까지의 상위 결과만 힙으로 유지하므로 일치 건수 전체를 정렬하지 않는다
+     */
+    public PostSearchResponseDto search(String query, int page, int size) {
+        Set<String> terms = new LinkedHashSet<>(tokenize(query));
+        int topN = (page + 1) * size;
+
+        lock.readLock().lock();
+        try {
+            Map<Long, Double> scores = new HashMap<>();
+            double averageLength = posts.isEmpty() ? 0 : (double) totalLength / posts.size();
+            for (String term : terms) {
+                Map<Long, Integer> postingList = postings.get(term);
+                if (postingList == null) {
+                    continue;
+                }
+                double idf = Math.log(1 + (posts.size() - postingList.size() + 0.5) / (postingList.size() + 0.5));
+                for (Map.Entry<Long, Integer> posting : postingList.entrySet()) {
+                    int tf = posting.getValue();
+                    double norm = K1 * (1 - B + B * posts.get(posting.getKey()).length / averageLength);
+                    scores.merge(posting.getKey(), idf * tf * (K1 + 1) / (tf + norm), Double::sum);
+                }
+            }
+
+            Comparator<Map.Entry<Long, Double>> ranking = Map.Entry.<Long, Double>comparingByValue()
+                .thenComparing(Map.Entry.comparingByKey());
+            PriorityQueue<Map.Entry<Long, Double>> top = new PriorityQueue<>(ranking);
+            for (Map.Entry<Long, Double> score : scores.entrySet()) {
+                top.offer(score);
+                if (top.size() > topN) {
+                    top.poll();
+                }
+            }
+            List<Map.Entry<Long, Double>> ranked = new ArrayList<>(top);
+            ranked.sort(ranking.reversed());
+
+            List<PostSearchResultDto> results = new ArrayList<>(size);
+            for (int i = page * size; i < ranked.size(); i++) {
+                PostDocument document = posts.get(ranked.get(i).getKey()).document;
+                results.add(new PostSearchResultDto(document.getId(), document.getUserId(), document.getDescription(),
+                                                    document.getCreateDate(), ranked.get(i).getValue()));
+            }
+            return new PostSearchResponseDto(query, scores.size(), page, size, results);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return posts.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int termCount() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** 색인 구축 중이면 이벤트를 모아 두고, 아니면 바로 적용 */
+    private void accept(Object event) {
+        synchronized (pendingLock) {
+            if (pendingEvents != null) {
+                pendingEvents.add(event);
+                return;
+            }
+        }
+        apply(event);
+    }
+
+    private void apply(Object event) {
+        if (event instanceof UserPostsRemovedEvent) {
+            removeUsers(((UserPostsRemovedEvent) event).getUserIds());
+            return;
+        }
+        PostChangedEvent changed = (PostChangedEvent) event;
+        if (changed.isRemoved()) {
+            remove(changed.getPostId());
+            return;
+        }
+        put(new PostDocument(changed.getPostId(), changed.getUserId(), changed.getDescription(), changed.getCreateDate()));
+    }
+
+    /** 사용자들의 색인된 게시글 중 DB에 없는 게시글 제거 */
+    private int removeMissingPosts(List<Long> userIds) {
+        int removed = 0;
+        for (int from = 0; from < userIds.size(); from += BATCH_SIZE) {
+            List<Long> batch = userIds.subList(from, Math.min(from + BATCH_SIZE, userIds.size()));
+            Set<Long> existing = new HashSet<>(postService.findPostIdsByUsers(batch));
+            lock.writeLock().lock();
+            try {
+                for (Long userId : batch) {
+                    Set<Long> indexed = postIdsByUser.get(userId);
+                    if (indexed == null) {
+                        continue;
+                    }
+                    for (Long postId : new ArrayList<>(indexed)) {
+                        if (!existing.contains(postId)) {
+                            removeInternal(postId);
+                            removed++;
+                        }
+                    }
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        return removed;
+    }
+
+    /** 삭제된 사용자의 게시글 제거 - 사용자 행이 없으므로 색인된 사용자 id가 아직 있는지 확인한다 */
+    private int removeMissingUsers() {
+        List<Long> userIds;
+        lock.readLock().lock();
+        try {
+            userIds = new ArrayList<>(postIdsByUser.keySet());
+        } finally {
+            lock.readLock().unlock();
+        }
+        List<Long> missing = new ArrayList<>();
+        for (int from = 0; from < userIds.size(); from += BATCH_SIZE) {
+            List<Long> batch = userIds.subList(from, Math.min(from + BATCH_SIZE, userIds.size()));
+            Set<Long> existing = postService.findExistingUserIds(batch);
+            batch.stream().filter(userId -> !existing.contains(userId)).forEach(missing::add);
+        }
+        return removeUsers(missing);
+    }
+
+    /** 쓰기 락을 잡은 상태에서 호출해야 한다 */
+    private IndexedPost removeInternal(Long postId) {
+        IndexedPost indexed = posts.remove(postId);
+        if (indexed == null) {
+            return null;
+        }
+        for (String term : indexed.terms) {
+            Map<Long, Integer> postingList = postings.get(term);
+            postingList.remove(postId);
+            if (postingList.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+        Set<Long> userPosts = postIdsByUser.get(indexed.document.getUserId());
+        if (userPosts != null) {
+            userPosts.remove(postId);
+            if (userPosts.isEmpty()) { // 게시글이 없는 사용자는 삭제 여부를 확인할 필요가 없으므로 남기지 않는다
+                postIdsByUser.remove(indexed.document.getUserId());
+            }
+        }
+        totalLength -= indexed.length;
+        return indexed;
+    }
+
+    private static Map<String, Integer> termFrequencies(String text) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String token : tokenize(text)) {
+            frequencies.merge(token, 1, Integer::sum);
+        }
+        return frequencies;
+    }
+
+    /** 문자/숫자가 아닌 문자를 구분자로 나누고 소문자로 정규화 - 한글은 어절 단위로 색인된다 */
+    static List<String> tokenize(String text) {
+        if (text == null || text.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<String> tokens = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean letter = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (letter && start < 0) {
+                start = i;
+            } else if (!letter && start >= 0) {
+                tokens.add(text.substring(start, i).toLowerCase());
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    private static final class IndexedPost {
+        private final PostDocument document;
+        private final Set<String> terms;
+        private final int length;
+
+        private IndexedPost(PostDocument document, Set<String> terms, int length) {
+            this.document = document;
+            this.terms = terms;
+            this.length = length;
+        }
+    }
+}
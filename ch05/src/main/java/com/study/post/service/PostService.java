@@ -1,17 +1,41 @@
 package com.study.post.service;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import com.study.common.dto.CursorPage;
+import com.study.common.dto.CursorRequest;
+import com.study.common.dto.KeysetCursor;
+import com.study.common.dto.VersionStamp;
 import com.study.common.exception.PostNotFoundException;
 import com.study.common.exception.UserNotFoundException;
 import com.study.post.controller.v2.dto.PostDto;
+import com.study.post.controller.v3.dto.PostFeedDto;
 import com.study.post.domain.Post;
+import com.study.post.domain.PostBody;
+import com.study.post.event.PostChangedEvent;
+import com.study.post.repository.PostBodyRepository;
 import com.study.post.repository.PostRepository;
-import com.study.user.domain.User;
+import com.study.post.search.PostDocument;
 import com.study.user.repository.UserRepository;
+import com.study.user.service.UserService;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,51 +47,192 @@ import lombok.RequiredArgsConstructor;
 public class PostService {
     private final PostRepository postRepository;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PostBodyRepository postBodyRepository;
+    private final CacheManager cacheManager;
 
-    public List<PostDto> getPostsByUser(Long userId) {
-        List<Post> posts = postRepository.getPostsByUser(userId);
-        return posts.stream()
-                .map(p -> new PostDto(p.getId(), p.getDescription(), p.getCreateDate(), p.getUpdateDate()))
-                .collect(Collectors.toList());
+    @Value("${app.post.body.compress-threshold:1024}")
+    private int compressThreshold;
+
+    public Optional<VersionStamp> getPostsVersion(Long userId) {
+        return userRepository.findPostsVersion(userId);
+    }
+
+    public Optional<VersionStamp> getPostVersion(Long userId, Long postId) {
+        return postRepository.findVersionByUser(userId, postId);
+    }
+
+    /** 게시글 전체 내용(UTF-8) - 게시글 행은 읽지 않고 본문 행만 조회한다 */
+    public byte[] getPostBody(Long postId) {
+        PostBody body = postBodyRepository.findById(postId)
+            .orElseThrow(() -> new PostNotFoundException(String.format("Post ID[%s] not found", postId)));
+        return PostBody.decode(body.getContent(), body.isCompressed());
+    }
+
+    /**
+     * 사용자의 게시글을 (createDate, id) 키셋으로 페이지 조회
+     * limit + 1 건을 읽어 다음(이전) 페이지 존재 여부를 판단하므로 게시글 수와 무관하게 페이지 크기만큼만 읽는다
+     */
+    public CursorPage<PostDto> getPostPageByUser(Long userId, CursorRequest request) {
+        PageRequest pageable = PageRequest.of(0, request.getLimit() + 1);
+        List<PostDto> posts;
+        if (request.isBackward()) {
+            KeysetCursor before = KeysetCursor.decode(request.getBefore());
+            posts = postRepository.findPageByUserBefore(userId, before.getTime(), before.getId(), pageable);
+        } else {
+            KeysetCursor after = KeysetCursor.decode(request.getAfter());
+            posts = after == null
+                ? postRepository.findPageByUser(userId, pageable)
+                : postRepository.findPageByUserAfter(userId, after.getTime(), after.getId(), pageable);
+        }
+        return CursorPage.of(request, posts, KeysetCursor.encoder(PostDto::getCreateDate, PostDto::getId));
+    }
+
+    /**
+     * 전체 사용자의 게시글을 최신순으로 페이지 조회 - (create_date, id) 인덱스를 역순으로 읽는다
+     */
+    public CursorPage<PostFeedDto> getFeed(CursorRequest request) {
+        PageRequest pageable = PageRequest.of(0, request.getLimit() + 1);
+        List<PostFeedDto> posts;
+        if (request.isBackward()) {
+            KeysetCursor before = KeysetCursor.decode(request.getBefore());
+            posts = postRepository.findFeedBefore(before.getTime(), before.getId(), pageable);
+        } else {
+            KeysetCursor after = KeysetCursor.decode(request.getAfter());
+            posts = after == null
+                ? postRepository.findFeed(pageable)
+                : postRepository.findFeedAfter(after.getTime(), after.getId(), pageable);
+        }
+        return CursorPage.of(request, posts, KeysetCursor.encoder(PostFeedDto::getCreateDate, PostFeedDto::getId));
     }
 
+    /**
+     * 사용자 게시글 목록 버전을 먼저 갱신해 사용자 존재 여부를 확인하고, 사용자는 조회 없이 참조(프록시)로 연결해 insert 한다
+     */
     @Transactional
+    @CacheEvict(cacheNames = UserService.USER_CACHE, key = "#userId")
     public Long savePostByUser(Long userId, PostDto postDto) {
-        Optional<User> user = userRepository.findById(userId);
-        if (user.isEmpty()) {
+        if (userRepository.changePostCount(userId, 1, LocalDateTime.now()) == 0) {
             throw new UserNotFoundException(String.format("ID[%s] not found", userId));
         }
-        User findUser = user.get();
-        Post post = Post.builder().description(postDto.getDescription()).user(findUser).build();
+        Post post = Post.builder().description(postDto.getDescription()).user(userRepository.getById(userId)).build();
         postRepository.save(post);
+        postBodyRepository.save(newBody(post, postDto.getDescription()));
+        eventPublisher.publishEvent(PostChangedEvent.saved(post.getId(), userId, postDto.getDescription(), post.getCreateDate()));
         return post.getId();
     }
 
+    /**
+     * 쓰기 지연 대기열에서 모은 게시글을 한 트랜잭션으로 저장 - insert는 JDBC 배치로 전송된다
+     * 사용자별 게시글 수는 사용자당 update 한번으로 증가시키며, 없는 사용자의 게시글은 저장하지 않고 결과에 null을 넣는다
+     * @return 입력 순서와 같은 순서의 게시글 id 목록
+     */
     @Transactional
-    public Long modifyPostByUser(Long userId, PostDto postDto) {
-        Optional<User> user = userRepository.findById(userId);
-        if (user.isEmpty()) {
-            throw new UserNotFoundException(String.format("ID[%s] not found", userId));
+    public List<Long> savePostsInBatch(List<PostWriteBehindQueue.PendingPost> pendingPosts) {
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, Long> countsByUser = pendingPosts.stream() // 잠금 순서를 일정하게 하기 위해 id 순으로 갱신
+            .collect(Collectors.groupingBy(PostWriteBehindQueue.PendingPost::getUserId, TreeMap::new, Collectors.counting()));
+        Set<Long> missingUsers = new HashSet<>();
+        countsByUser.forEach((userId, count) -> {
+            if (userRepository.changePostCount(userId, count, now) == 0) {
+                missingUsers.add(userId);
+            }
+        });
+
+        List<Long> postIds = new ArrayList<>(pendingPosts.size());
+        for (PostWriteBehindQueue.PendingPost pending : pendingPosts) {
+            if (missingUsers.contains(pending.getUserId())) {
+                postIds.add(null);
+                continue;
+            }
+            Post post = Post.builder().description(pending.getDescription()).user(userRepository.getById(pending.getUserId())).build();
+            postRepository.save(post);
+            postBodyRepository.save(newBody(post, pending.getDescription()));
+            postIds.add(post.getId());
+            eventPublisher.publishEvent(PostChangedEvent.saved(post.getId(), pending.getUserId(), pending.getDescription(), post.getCreateDate()));
         }
-        User findUser = user.get();
-        Optional<Post> post = postRepository.getPostByUser(findUser.getId(), postDto.getId());
-        
-        if(post.isEmpty()) {
-            throw new PostNotFoundException(String.format("User ID[%s]\'s post ID[%s] not found", userId, postDto.getId()));
+
+        Cache userCache = cacheManager.getCache(UserService.USER_CACHE);
+        countsByUser.keySet().forEach(userCache::evict);
+        return postIds;
+    }
+
+    /**
+     * 게시글을 읽지 않고 update 문 한번으로 수정 - 수정된 행이 없으면 404
+     */
+    @Transactional
+    public Long modifyPostByUser(Long userId, PostDto postDto) {
+        LocalDateTime now = LocalDateTime.now();
+        String description = postDto.getDescription();
+        String summary = Post.summarize(description);
+        boolean truncated = description != null && description.length() > summary.length();
+        if (postRepository.updateSummary(userId, postDto.getId(), summary, truncated, now) == 0) {
+            throw notFound(userId, postDto.getId());
         }
-        Post findPost = post.get();
-        findPost.setDescription(postDto.getDescription());
-        return findPost.getId();
+        boolean compressed = isCompressible(description);
+        postBodyRepository.updateContent(postDto.getId(), PostBody.encode(description, compressed), compressed);
+        userRepository.touchPosts(userId, now);
+        eventPublisher.publishEvent(PostChangedEvent.saved(postDto.getId(), userId, postDto.getDescription(), null));
+        return postDto.getId();
     }
 
+    /**
+     * 게시글을 읽지 않고 delete 문 한번으로 삭제 - 삭제된 행이 없으면 404
+     */
     @Transactional
+    @CacheEvict(cacheNames = UserService.USER_CACHE, key = "#userId")
     public void removePostByUser(Long userId, Long postId) {
-        Optional<User> user = userRepository.findById(userId);
-        if (user.isEmpty()) {
-            throw new UserNotFoundException(String.format("ID[%s] not found", userId));
+        if (postRepository.deleteByUser(userId, postId) == 0) {
+            throw notFound(userId, postId);
+        }
+        userRepository.changePostCount(userId, -1, LocalDateTime.now());
+        eventPublisher.publishEvent(PostChangedEvent.removed(postId, userId));
+    }
+
+    /** 전체 게시글을 한건씩 전달 - 검색 색인 구축용 */
+    public void forEachDocument(Consumer<PostDocument> consumer) {
+        try (Stream<PostDocument> documents = postRepository.streamAllDocuments()) {
+            documents.forEach(consumer);
+        }
+    }
+
+    /** since 이후 등록/수정된 게시글을 한건씩 전달 - 검색 색인 보정용 */
+    public void forEachDocumentUpdatedSince(LocalDateTime since, Consumer<PostDocument> consumer) {
+        try (Stream<PostDocument> documents = postRepository.streamDocumentsUpdatedSince(since)) {
+            documents.forEach(consumer);
+        }
+    }
+
+    /** since 이후 게시글이 등록/수정/삭제된 사용자 id */
+    public List<Long> findUserIdsWithPostsChangedSince(LocalDateTime since) {
+        return userRepository.findIdsByPostUpdateDateSince(since);
+    }
+
+    public List<Long> findPostIdsByUsers(Collection<Long> userIds) {
+        return postRepository.findIdsByUserIds(userIds);
+    }
+
+    /** userIds 중 아직 존재하는 사용자 id */
+    public Set<Long> findExistingUserIds(Collection<Long> userIds) {
+        return userRepository.findVersions(userIds).stream()
+            .map(VersionStamp::getId)
+            .collect(Collectors.toSet());
+    }
+
+    private PostBody newBody(Post post, String description) {
+        return new PostBody(post, description, isCompressible(description));
+    }
+
+    /** compress-threshold 글자 이상인 내용만 압축 - 짧은 내용은 gzip 헤더 때문에 오히려 커진다 */
+    private boolean isCompressible(String description) {
+        return description != null && description.length() >= compressThreshold;
+    }
+
+    /** 변경된 행이 없을 때만 사용자 존재 여부를 조회해 어떤 404인지 구분한다 */
+    private RuntimeException notFound(Long userId, Long postId) {
+        if (!userRepository.existsById(userId)) {
+            return new UserNotFoundException(String.format("ID[%s] not found", userId));
         }
-        User findUser = user.get();
-        Optional<Post> post = postRepository.getPostByUser(findUser.getId(), postId);
-        post.ifPresent(postRepository::delete);
+        return new PostNotFoundException(String.format("User ID[%s]\'s post ID[%s] not found", userId, postId));
     }
 }
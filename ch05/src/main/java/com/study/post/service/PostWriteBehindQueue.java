@@ -0,0 +1,206 @@
+package com.study.post.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.study.common.exception.TooManyRequestsException;
+import com.study.post.controller.v2.dto.PendingPostDto;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 게시글 등록 쓰기 지연(write-behind) 대기열
+ * 요청 스레드는 크기가 제한된 메모리 큐에 넣기만 하고, 백그라운드 스레드 하나가 batch-size 단위로 모아 한 트랜잭션(JDBC 배치)으로 저장한다
+ * 큐가 가득 차면 TooManyRequestsException(429)으로 거절하며, 처리 결과는 ticket으로 status-ttl 동안 조회할 수 있다
+ * 큐는 메모리에만 있으므로 프로세스가 비정상 종료되면 저장 전인 게시글은 유실된다 - 정상 종료 시에는 남은 항목을 모두 저장한다
+ */
+@Slf4j
+@Component
+public class PostWriteBehindQueue implements SmartLifecycle {
+
+    static final String SAVE_FAILED = "Failed to save post";
+
+    private final PostService postService;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long retryAfterSeconds;
+    private final BlockingQueue<PendingPost> queue;
+    private final Cache<String, PendingPostDto> statuses;
+    private final Timer flushTimer;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public PostWriteBehindQueue(PostService postService, MeterRegistry meterRegistry,
+                                @Value("${app.post.write-behind.enabled:false}") boolean enabled,
+                                @Value("${app.post.write-behind.capacity:10000}") int capacity,
+                                @Value("${app.post.write-behind.batch-size:100}") int batchSize,
+                                @Value("${app.post.write-behind.retry-after-seconds:1}") long retryAfterSeconds,
+                                @Value("${app.post.write-behind.status-ttl:10m}") Duration statusTtl) {
+        this.postService = postService;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.statuses = Caffeine.newBuilder().maximumSize(capacity * 10L).expireAfterWrite(statusTtl).build();
+
+        Gauge.builder("post.write-behind.queue.depth", queue, BlockingQueue::size)
+            .description("Posts waiting to be written")
+            .register(meterRegistry);
+        this.flushTimer = Timer.builder("post.write-behind.flush")
+            .description("Time taken to write one batch of queued posts")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 게시글 등록 요청을 큐에 넣고 처리 상태를 조회할 ticket을 반환
+     * 사용자 존재 여부는 저장할 때 확인하므로 없는 사용자의 게시글은 FAILED 상태가 된다
+     */
+    public String enqueue(Long userId, String description) {
+        String ticket = UUID.randomUUID().toString();
+        statuses.put(ticket, new PendingPostDto(ticket, PendingPostDto.PENDING, userId, null, null));
+        if (!running || !queue.offer(new PendingPost(ticket, userId, description))) {
+            statuses.invalidate(ticket);
+            throw new TooManyRequestsException("Post queue is full", retryAfterSeconds);
+        }
+        return ticket;
+    }
+
+    public Optional<PendingPostDto> getStatus(String ticket) {
+        return Optional.ofNullable(statuses.getIfPresent(ticket));
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        writer = new Thread(this::writeLoop, "post-write-behind");
+        writer.start();
+    }
+
+    /** 새 요청을 더 받지 않고 큐에 남은 게시글을 모두 저장한 뒤 종료 */
+    @Override
+    public void stop() {
+        if (writer == null) {
+            return;
+        }
+        running = false;
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!queue.isEmpty()) {
+            log.warn("{} queued posts were not written before shutdown", queue.size());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /** 웹 서버가 요청 수신을 멈춘 뒤에 종료되도록 웹 서버 라이프사이클보다 낮은 phase를 사용 */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void writeLoop() {
+        List<PendingPost> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingPost first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * batch를 한 트랜잭션으로 저장 - 실패하면 batch 전체가 롤백되므로 한 건씩 다시 저장해서 문제가 있는 게시글만 FAILED로 남긴다
+     */
+    private void flush(List<PendingPost> batch) {
+        long start = System.nanoTime();
+        try {
+            save(batch);
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                fail(batch.get(0), e);
+            } else {
+                log.warn("Failed to write {} queued posts in one batch, retrying one by one", batch.size(), e);
+                batch.forEach(this::flushOne);
+            }
+        } finally {
+            flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void flushOne(PendingPost post) {
+        try {
+            save(List.of(post));
+        } catch (RuntimeException e) {
+            fail(post, e);
+        }
+    }
+
+    private void save(List<PendingPost> batch) {
+        List<Long> postIds = postService.savePostsInBatch(batch);
+        for (int i = 0; i < batch.size(); i++) {
+            PendingPost post = batch.get(i);
+            Long postId = postIds.get(i);
+            statuses.put(post.getTicket(), postId != null
+                ? new PendingPostDto(post.getTicket(), PendingPostDto.CREATED, post.getUserId(), postId, null)
+                : new PendingPostDto(post.getTicket(), PendingPostDto.FAILED, post.getUserId(), null,
+                                     String.format("ID[%s] not found", post.getUserId())));
+        }
+    }
+
+    /** 예외 내용(SQL 등)은 서버 로그에만 남기고 상태 조회 응답에는 고정된 메시지를 넣는다 */
+    private void fail(PendingPost post, RuntimeException e) {
+        log.error("Failed to write queued post {} of user {}", post.getTicket(), post.getUserId(), e);
+        statuses.put(post.getTicket(),
+            new PendingPostDto(post.getTicket(), PendingPostDto.FAILED, post.getUserId(), null, SAVE_FAILED));
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class PendingPost {
+        private final String ticket;
+        private final Long userId;
+        private final String description;
+    }
+}
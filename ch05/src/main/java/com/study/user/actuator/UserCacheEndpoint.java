@@ -0,0 +1,70 @@
+package com.study.user.actuator;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.study.user.service.UserService;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 사용자 캐시 조회/비우기용 actuator 엔드포인트
+ * GET /actuator/usercache, GET /actuator/usercache/{id}, DELETE /actuator/usercache, DELETE /actuator/usercache/{id}
+ * 적중/미스/제거 횟수는 /actuator/metrics/cache.gets, cache.evictions 에서도 확인할 수 있다
+ */
+@Component
+@Endpoint(id = "usercache")
+@RequiredArgsConstructor
+public class UserCacheEndpoint {
+
+    private static final int MAX_KEYS = 100;
+
+    private final CacheManager cacheManager;
+
+    @ReadOperation
+    public Map<String, Object> summary() {
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache = nativeCache();
+        CacheStats stats = nativeCache.stats();
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("size", nativeCache.estimatedSize());
+        summary.put("hitCount", stats.hitCount());
+        summary.put("missCount", stats.missCount());
+        summary.put("hitRate", stats.hitRate());
+        summary.put("evictionCount", stats.evictionCount());
+        List<Object> keys = nativeCache.asMap().keySet().stream().limit(MAX_KEYS).collect(Collectors.toList());
+        summary.put("keys", keys);
+        return summary;
+    }
+
+    @ReadOperation
+    public Object entry(@Selector Long id) {
+        return nativeCache().asMap().get(id); // getIfPresent는 적중 통계에 포함되므로 사용하지 않음
+    }
+
+    @DeleteOperation
+    public void clear() {
+        nativeCache().invalidateAll();
+    }
+
+    @DeleteOperation
+    public void evict(@Selector Long id) {
+        nativeCache().invalidate(id);
+    }
+
+    private com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache() {
+        CaffeineCache cache = (CaffeineCache) cacheManager.getCache(UserService.USER_CACHE);
+        return cache.getNativeCache();
+    }
+}
@@ -1,20 +1,30 @@
 package com.study.user.controller.v1;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Optional;
 
-import com.fasterxml.jackson.databind.ser.FilterProvider;
-import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
-import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import javax.servlet.http.HttpServletResponse;
+
+import com.fasterxml.jackson.dataformat.xml.ser.ToXmlGenerator;
+import com.study.common.api.CursorLinks;
 import com.study.common.api.v1.V1Controller;
+import com.study.common.dto.CursorPage;
+import com.study.common.dto.CursorRequest;
 import com.study.common.exception.UserNotFoundException;
+import com.study.common.view.XmlStreamWriters;
 import com.study.user.controller.v1.dto.UserDto;
 import com.study.user.service.UserService;
 
-import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import lombok.RequiredArgsConstructor;
 
@@ -22,31 +32,54 @@ import lombok.RequiredArgsConstructor;
 @RestController
 public class AdminUserControllerV1 implements V1Controller {
 
+    private static final String LIST_ELEMENT = "List"; /** retrieveAllUsers의 XML 응답(List<UserDto>)과 같은 요소 이름 */
+    private static final String ITEM_ELEMENT = "item";
+
     private final UserService userService;
+    private final XmlStreamWriters xmlStreamWriters;
 
     @GetMapping("/admin/users")
-    public MappingJacksonValue retrieveAllUsers() {
-        List<UserDto> users = userService.findAll();
+    public ResponseEntity<List<UserDto>> retrieveAllUsers(@RequestParam(name = "after", required = false) String after,
+                                                          @RequestParam(name = "before", required = false) String before,
+                                                          @RequestParam(name = "limit", required = false) Integer limit,
+                                                          WebRequest webRequest,
+                                                          HttpServletResponse servletResponse) throws IOException {
+        CursorRequest request = CursorRequest.of(after, before, limit);
+        if (xmlStreamWriters.isXml(webRequest, List.class)) {
+            streamUsers(request, servletResponse);
+            return null; // XML 응답은 이미 기록함
+        }
+
+        CursorPage<UserDto> page = userService.findPage(request);
 
-        SimpleBeanPropertyFilter filter = SimpleBeanPropertyFilter.filterOutAllExcept("id", "name", "joinDate", "ssn");
-        FilterProvider filterProvider = new SimpleFilterProvider().addFilter("UserInfo", filter); // @JsonFilter("UserInfo"), filter
+        // UserDto의 @JsonFilter(UserInfo) 뷰는 JacksonConfig에서 등록한 필터로 처리됨
+        return new ResponseEntity<>(page.getContent(), CursorLinks.headers(page, request.getLimit()), HttpStatus.OK);
+    }
+
+    /**
+     * XML 사용자 목록 - 목록을 만들지 않고 행을 읽는 대로 XML 요소로 기록한다
+     * 페이지의 사용자 id를 먼저 조회해서 본문을 쓰기 전에 Link 헤더를 정한다
+     */
+    private void streamUsers(CursorRequest request, HttpServletResponse servletResponse) throws IOException {
+        CursorPage<Long> page = userService.findPageIds(request);
 
-        MappingJacksonValue mapping = new MappingJacksonValue(users);
-        mapping.setFilters(filterProvider);
-        
-        return mapping;
+        HttpHeaders headers = CursorLinks.headers(page, request.getLimit());
+        try (ToXmlGenerator xml = xmlStreamWriters.startDocument(servletResponse, headers, LIST_ELEMENT)) {
+            userService.streamUsers(page.getContent(), user -> {
+                try {
+                    xmlStreamWriters.writeElement(xml, ITEM_ELEMENT, user);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
     }
 
     @GetMapping("/admin/users/{id}")
-    public MappingJacksonValue retrieveUser(@PathVariable("id") Long id) {
+    public UserDto retrieveUser(@PathVariable("id") Long id) {
         Optional<UserDto> user = userService.findOneUser(id);
         if (user.isPresent()) {
-            SimpleBeanPropertyFilter filter = SimpleBeanPropertyFilter.filterOutAllExcept("id", "name", "joinDate", "ssn");
-            FilterProvider filterProvider = new SimpleFilterProvider().addFilter("UserInfo", filter); // @JsonFilter("UserInfo"), filter
-
-            MappingJacksonValue mapping = new MappingJacksonValue(user.get());
-            mapping.setFilters(filterProvider);
-            return mapping;
+            return user.get();
         }
         throw new UserNotFoundException(String.format("ID[%s] not found", id));
     }
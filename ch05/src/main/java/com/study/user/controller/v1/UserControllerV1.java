@@ -1,9 +1,17 @@
 package com.study.user.controller.v1;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Optional;
 
+import javax.servlet.http.HttpServletResponse;
+
+import com.fasterxml.jackson.dataformat.xml.ser.ToXmlGenerator;
 import com.study.common.api.v1.V1Controller;
+import com.study.common.dto.CursorPage;
+import com.study.common.dto.CursorRequest;
+import com.study.common.view.XmlStreamWriters;
 import com.study.user.controller.v1.dto.UserDto;
 import com.study.user.controller.v1.dto.UserRequestDto;
 import com.study.user.controller.v1.dto.UserResponseDto;
@@ -16,7 +24,9 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import lombok.RequiredArgsConstructor;
 
@@ -25,20 +35,67 @@ import lombok.RequiredArgsConstructor;
 public class UserControllerV1 implements V1Controller {
 
     private final UserService userService;
+    private final XmlStreamWriters xmlStreamWriters;
 
     @GetMapping("/users")
-    public UserResponseDto retrieveAllUsers() {
-        List<UserDto> users = userService.findAll();
+    public UserResponseDto retrieveAllUsers(@RequestParam(name = "after", required = false) String after,
+                                            @RequestParam(name = "before", required = false) String before,
+                                            @RequestParam(name = "limit", required = false) Integer limit,
+                                            WebRequest request, HttpServletResponse servletResponse) throws IOException {
+        CursorRequest cursorRequest = CursorRequest.of(after, before, limit);
+        if (xmlStreamWriters.isXml(request, UserResponseDto.class)) {
+            streamUsers(cursorRequest, servletResponse);
+            return null; // XML 응답은 이미 기록함
+        }
+
+        CursorPage<UserDto> page = userService.findPage(cursorRequest);
+        List<UserDto> users = page.getContent();
         
         if (!users.isEmpty()) {
             UserResponseDto response = new UserResponseDto();
             response.setUsers(users);
+            response.setNextCursor(page.getNextCursor());
+            response.setPrevCursor(page.getPrevCursor());
             return response;
         }
 
         return new UserResponseDto(HttpStatus.NOT_FOUND.value(), "User list is empty");
     }
 
+    /**
+     * XML 사용자 목록 - 응답 DTO와 목록을 만들지 않고 행을 읽는 대로 XML 요소로 기록한다
+     * 요소 이름과 순서는 메시지 컨버터가 기록하는 UserResponseDto와 같다
+     */
+    private void streamUsers(CursorRequest cursorRequest, HttpServletResponse servletResponse) throws IOException {
+        CursorPage<Long> page = userService.findPageIds(cursorRequest);
+        UserResponseDto response = page.getContent().isEmpty()
+            ? new UserResponseDto(HttpStatus.NOT_FOUND.value(), "User list is empty")
+            : new UserResponseDto();
+
+        try (ToXmlGenerator xml = xmlStreamWriters.startDocument(servletResponse, UserResponseDto.class.getSimpleName())) {
+            xml.writeNumberField("code", response.getCode());
+            xml.writeStringField("message", response.getMessage());
+            if (!page.getContent().isEmpty()) {
+                xml.writeFieldName("users");
+                xml.writeStartObject();
+                userService.streamUsers(page.getContent(), user -> {
+                    try {
+                        xmlStreamWriters.writeElement(xml, "users", user);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                xml.writeEndObject();
+            }
+            if (page.getNextCursor() != null) {
+                xml.writeStringField("nextCursor", page.getNextCursor());
+            }
+            if (page.getPrevCursor() != null) {
+                xml.writeStringField("prevCursor", page.getPrevCursor());
+            }
+        }
+    }
+
     @GetMapping("/users/{id}")
     public UserResponseDto retrieveUser(@PathVariable("id") Long id) {
         Optional<UserDto> user = userService.findOneUser(id);
@@ -3,9 +3,12 @@ package com.study.user.controller.v1.dto;
 import java.time.LocalDateTime;
 
 import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateTimeSerializer;
+import com.study.common.view.JsonViewRegistry;
+import com.study.serializer.GenerateSerializer;
 
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -15,7 +18,8 @@ import lombok.Setter;
 @NoArgsConstructor
 @AllArgsConstructor
 @Getter @Setter
-@JsonFilter("UserInfo")
+@JsonFilter(JsonViewRegistry.USER_INFO)
+@GenerateSerializer
 public class UserDto {
     private Long id;
 
@@ -28,4 +32,19 @@ public class UserDto {
     private String password;
 
     private String ssn;
+
+    private Long postCount;
+
+    @JsonIgnore
+    private Long version; /** 캐시 재검증용 - 응답에는 포함하지 않음 */
+
+    /** 조회 전용 프로젝션 생성자 - password는 조회하지 않는다 */
+    public UserDto(Long id, String name, LocalDateTime joinDate, String ssn, Long postCount, Long version) {
+        this.id = id;
+        this.name = name;
+        this.joinDate = joinDate;
+        this.ssn = ssn;
+        this.postCount = postCount;
+        this.version = version;
+    }
 }
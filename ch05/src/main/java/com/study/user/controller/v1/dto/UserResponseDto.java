@@ -19,6 +19,12 @@ public class UserResponseDto extends BaseDto {
     @JsonInclude(JsonInclude.Include.NON_NULL)
     private List<UserDto> users;
 
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String nextCursor;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String prevCursor;
+
     public UserResponseDto(int code, String message) {
         this.code = code;
         this.message = message;
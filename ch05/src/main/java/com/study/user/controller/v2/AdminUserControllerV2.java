@@ -1,12 +1,12 @@
 package com.study.user.controller.v2;
 
-import java.util.List;
 import java.util.Optional;
 
-import com.fasterxml.jackson.databind.ser.FilterProvider;
-import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
-import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.study.common.api.CursorLinks;
+import com.study.common.api.LinkTemplates;
 import com.study.common.api.v2.V2Controller;
+import com.study.common.dto.CursorPage;
+import com.study.common.dto.CursorRequest;
 import com.study.common.exception.UserNotFoundException;
 import com.study.user.controller.v1.dto.UserDto;
 import com.study.user.controller.v2.dto.UserDtoV2;
@@ -15,10 +15,9 @@ import com.study.user.service.UserService;
 import org.springframework.beans.BeanUtils;
 import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
-import org.springframework.hateoas.server.mvc.WebMvcLinkBuilder;
-import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import lombok.RequiredArgsConstructor;
@@ -28,35 +27,29 @@ import lombok.RequiredArgsConstructor;
 public class AdminUserControllerV2 implements V2Controller {
 
     private final UserService userService;
+    private final LinkTemplates linkTemplates;
 
     @GetMapping("/admin/users")
-    public MappingJacksonValue retrieveAllUsers() {
-        List<UserDto> users = userService.findAll();
+    public CollectionModel<UserDto> retrieveAllUsers(@RequestParam(name = "after", required = false) String after,
+                                                     @RequestParam(name = "before", required = false) String before,
+                                                     @RequestParam(name = "limit", required = false) Integer limit) {
+        CursorRequest request = CursorRequest.of(after, before, limit);
+        CursorPage<UserDto> page = userService.findPage(request);
 
         // 컬렉션을 반환할때는 CollectionModel을 사용
-        CollectionModel<UserDto> model = CollectionModel.of(users);
+        CollectionModel<UserDto> model = CollectionModel.of(page.getContent());
 
-        // 현재 컨트롤러의 retrieveAllUser 메서드를 이용해서 링크 생성
-        WebMvcLinkBuilder linkTo = WebMvcLinkBuilder
-                    .linkTo(WebMvcLinkBuilder.methodOn(this.getClass()).retrieveAllUsers());
-        model.add(linkTo.withRel("all-users"));
-
-        SimpleBeanPropertyFilter filter = SimpleBeanPropertyFilter.filterOutAllExcept("id", "name", "joinDate", "ssn");
-        FilterProvider filterProvider = new SimpleFilterProvider().addFilter("UserInfo", filter); // @JsonFilter("UserInfo"), filter
-
-        MappingJacksonValue mapping = new MappingJacksonValue(model);
-        mapping.setFilters(filterProvider);
+        // 현재 컨트롤러의 retrieveAllUsers 메서드의 링크 템플릿으로 링크 생성
+        model.add(linkTemplates.link(AdminUserControllerV2.class, "retrieveAllUsers", "all-users"));
+        model.add(CursorLinks.of(page, request.getLimit())); // 다음/이전 페이지 링크
         
-        return mapping;
+        return model;
     }
 
     @GetMapping(value = "/admin/users/{id}")
-    public MappingJacksonValue retrieveUser(@PathVariable("id") Long id) {
+    public EntityModel<UserDtoV2> retrieveUser(@PathVariable("id") Long id) {
         Optional<UserDto> user = userService.findOneUser(id);
         if (user.isPresent()) {
-            SimpleBeanPropertyFilter filter = SimpleBeanPropertyFilter.filterOutAllExcept("id", "name", "joinDate", "ssn", "grade");
-            FilterProvider filterProvider = new SimpleFilterProvider().addFilter("UserInfoV2", filter); // @JsonFilter("UserInfoV2"), filter
-
             UserDtoV2 userDtoV2 = new UserDtoV2();
             userDtoV2.setGrade("VIP");
 
@@ -64,14 +57,9 @@ public class AdminUserControllerV2 implements V2Controller {
             
             EntityModel<UserDtoV2> model = EntityModel.of(userDtoV2);
 
-            // 현재 컨트롤러의 retrieveUser 메서드를 이용해서 링크 생성
-            WebMvcLinkBuilder linkTo = WebMvcLinkBuilder
-                        .linkTo(WebMvcLinkBuilder.methodOn(this.getClass()).retrieveUser(userDtoV2.getId()));
-            model.add(linkTo.withRel("user-url"));
-
-            MappingJacksonValue mapping = new MappingJacksonValue(model);
-            mapping.setFilters(filterProvider);
-            return mapping;
+            // 현재 컨트롤러의 retrieveUser 메서드의 링크 템플릿으로 링크 생성
+            model.add(linkTemplates.link(AdminUserControllerV2.class, "retrieveUser", "user-url", userDtoV2.getId()));
+            return model;
         }
         throw new UserNotFoundException(String.format("ID[%s] not found", id));
     }
@@ -0,0 +1,152 @@
+package com.study.user.controller.v2;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.study.common.api.v2.V2Controller;
+import com.study.user.controller.v1.dto.UserRequestDto;
+import com.study.user.controller.v2.dto.UserBatchResponseDto;
+import com.study.user.controller.v2.dto.UserBatchResultDto;
+import com.study.user.domain.User;
+import com.study.user.service.UserService;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.hibernate.exception.DataException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+public class UserBatchControllerV2 implements V2Controller {
+
+    private final UserService userService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    @Value("${app.user.batch.chunk-size:1000}")
+    private int chunkSize;
+
+    /**
+     * 사용자 일괄 등록
+     * 본문은 JSON 배열 또는 NDJSON(한 줄에 한 사용자)이며, 전체를 메모리에 올리지 않고 한 항목씩 읽는다
+     * 항목별로 밸리데이션 후 chunk-size 단위로 JDBC 배치 insert 하고 항목별 결과를 반환한다
+     */
+    @PostMapping(path = "/users/batch", consumes = {MediaType.APPLICATION_JSON_VALUE, "application/x-ndjson"})
+    public UserBatchResponseDto createUsers(InputStream body) throws IOException {
+        UserBatchResponseDto response = new UserBatchResponseDto();
+        List<User> chunk = new ArrayList<>(chunkSize);
+        List<Integer> chunkIndexes = new ArrayList<>(chunkSize);
+
+        ObjectReader reader = objectMapper.readerFor(UserRequestDto.class);
+        try (MappingIterator<UserRequestDto> items = reader.readValues(body)) {
+            int index = 0;
+            while (true) {
+                UserRequestDto item;
+                try {
+                    if (!items.hasNextValue()) {
+                        break;
+                    }
+                    item = items.nextValue();
+                } catch (JsonMappingException e) { // 항목 하나의 형식 오류 - 다음 항목부터 계속 처리
+                    addFailure(response, index++, HttpStatus.BAD_REQUEST, e.getOriginalMessage());
+                    continue;
+                } catch (JsonProcessingException e) { // JSON 문법 오류 - 이후 항목은 읽을 수 없음
+                    addFailure(response, index, HttpStatus.BAD_REQUEST, e.getOriginalMessage());
+                    break;
+                }
+
+                String violation = validate(item);
+                if (violation != null) {
+                    addFailure(response, index++, HttpStatus.BAD_REQUEST, violation);
+                    continue;
+                }
+
+                chunk.add(User.builder()
+                    .name(item.getName())
+                    .password(item.getPassword())
+                    .ssn(item.getSsn())
+                    .build());
+                chunkIndexes.add(index++);
+                if (chunk.size() == chunkSize) {
+                    flushChunk(response, chunk, chunkIndexes);
+                }
+            }
+        }
+        flushChunk(response, chunk, chunkIndexes);
+        response.getResults().sort(Comparator.comparingInt(UserBatchResultDto::getIndex));
+
+        if (response.getFailed() > 0) {
+            response.setMessage(String.format("%d of %d users failed", response.getFailed(),
+                    response.getFailed() + response.getCreated()));
+        }
+        return response;
+    }
+
+    private void flushChunk(UserBatchResponseDto response, List<User> chunk, List<Integer> chunkIndexes) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        try {
+            List<Long> ids = userService.saveUsers(chunk);
+            for (int i = 0; i < ids.size(); i++) {
+                response.getResults().add(new UserBatchResultDto(chunkIndexes.get(i), HttpStatus.CREATED.value(), ids.get(i), null));
+            }
+            response.setCreated(response.getCreated() + ids.size());
+        } catch (RuntimeException e) { // 트랜잭션 단위로 롤백되므로 chunk 전체를 실패 처리 - 원인(SQL 등)은 응답하지 않고 로그로만 남긴다
+            if (isConstraintViolation(e)) {
+                log.warn("Constraint violation while saving user chunk of {}", chunk.size(), e);
+                chunkIndexes.forEach(index -> addFailure(response, index, HttpStatus.BAD_REQUEST, "Constraint violation in chunk"));
+            } else {
+                log.error("Failed to save user chunk of {}", chunk.size(), e);
+                chunkIndexes.forEach(index -> addFailure(response, index, HttpStatus.INTERNAL_SERVER_ERROR, "Failed to save users"));
+            }
+        }
+        chunk.clear();
+        chunkIndexes.clear();
+    }
+
+    /**
+     * 데이터 제약 조건(길이, not null, unique 등) 위반 여부
+     * flush 중 예외는 변환되지 않은 Hibernate 예외로, 커밋 중 예외는 스프링 예외로 올라오므로 원인을 따라가며 확인한다
+     */
+    private static boolean isConstraintViolation(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof DataIntegrityViolationException
+                    || cause instanceof ConstraintViolationException
+                    || cause instanceof DataException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private String validate(UserRequestDto item) {
+        Set<ConstraintViolation<UserRequestDto>> violations = validator.validate(item);
+        return violations.isEmpty() ? null : violations.iterator().next().getMessage();
+    }
+
+    private void addFailure(UserBatchResponseDto response, int index, HttpStatus status, String message) {
+        response.getResults().add(new UserBatchResultDto(index, status.value(), null, message));
+        response.setFailed(response.getFailed() + 1);
+    }
+}
@@ -6,30 +6,33 @@ import java.util.Optional;
 
 import javax.validation.Valid;
 
-import com.fasterxml.jackson.databind.ser.FilterProvider;
-import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
-import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.study.common.api.CursorLinks;
+import com.study.common.api.LinkTemplates;
+import com.study.common.api.RepresentationCache;
 import com.study.common.api.v2.V2Controller;
+import com.study.common.dto.CursorPage;
+import com.study.common.dto.CursorRequest;
+import com.study.common.dto.VersionStamp;
 import com.study.common.exception.UserNotFoundException;
+import com.study.common.view.JsonViewRegistry;
 import com.study.user.controller.v1.dto.UserDto;
 import com.study.user.controller.v1.dto.UserRequestDto;
 import com.study.user.domain.User;
 import com.study.user.service.UserService;
 
 import org.springframework.hateoas.EntityModel;
-import org.springframework.hateoas.server.mvc.WebMvcLinkBuilder;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
-import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.context.request.WebRequest;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -40,39 +43,47 @@ import lombok.extern.slf4j.Slf4j;
 public class UserControllerV2 implements V2Controller {
     
     private final UserService userService;
+    private final RepresentationCache representationCache;
+    private final LinkTemplates linkTemplates;
 
     @GetMapping("/users")
-    public MappingJacksonValue retrieveAllUsers() {
-        List<UserDto> users = userService.findAll();
+    public ResponseEntity<List<UserDto>> retrieveAllUsers(@RequestParam(name = "after", required = false) String after,
+                                                          @RequestParam(name = "before", required = false) String before,
+                                                          @RequestParam(name = "limit", required = false) Integer limit) {
+        CursorRequest request = CursorRequest.of(after, before, limit);
+        CursorPage<UserDto> page = userService.findPage(request);
+        return new ResponseEntity<>(page.getContent(), CursorLinks.headers(page, request.getLimit()), HttpStatus.OK);
+    }
 
-        SimpleBeanPropertyFilter filter = SimpleBeanPropertyFilter.filterOutAllExcept("id", "name", "joinDate", "ssn");
-        FilterProvider filterProvider = new SimpleFilterProvider().addFilter("UserInfo", filter); // @JsonFilter("UserInfo"), filter
+    /**
+     * 사용자 조회 - 응답은 사용자 버전별로 직렬화/압축된 바이트를 캐시해서 그대로 내려준다
+     * 본문은 ETag로 보낸 버전 이후의 사용자로 만든다 - 캐시된 사용자가 더 오래되었으면 DB에서 다시 읽는다
+     */
+    @GetMapping("/users/{id}")
+    public ResponseEntity<?> retrieveUser(@PathVariable("id") Long id, WebRequest request) {
+        Optional<VersionStamp> version = userService.findVersion(id);
+        if (version.isEmpty()) {
+            throw new UserNotFoundException(String.format("ID[%s] not found", id));
+        }
+        if (representationCache.checkNotModified(request, "user-", version.get(), EntityModel.class)) {
+            return null; // 304 Not Modified - 사용자를 조회/직렬화하지 않음
+        }
 
-        MappingJacksonValue mapping = new MappingJacksonValue(users);
-        mapping.setFilters(filterProvider);
-        return mapping;
+        return representationCache.respond(request, version.get().getVersion(), JsonViewRegistry.USER_INFO, EntityModel.class,
+            () -> ResponseEntity.ok(userModel(id, version.get().getVersion())));
     }
 
-    @GetMapping("/users/{id}")
-    public MappingJacksonValue retrieveUser(@PathVariable("id") Long id) {
-        Optional<UserDto> user = userService.findOneUser(id);
+    private EntityModel<UserDto> userModel(Long id, Long version) {
+        Optional<UserDto> user = userService.findOneUser(id, version);
         if (user.isPresent()) {
             // HATEOAS
             UserDto userDto = user.get();
             EntityModel<UserDto> model = EntityModel.of(userDto);
 
-            // 현재 컨트롤러의 retrieveAllUser 메서드를 이용해서 링크 생성
-            WebMvcLinkBuilder linkTo = WebMvcLinkBuilder
-                        .linkTo(WebMvcLinkBuilder.methodOn(this.getClass()).retrieveAllUsers());
-            model.add(linkTo.withRel("all-users"));
-
-            SimpleBeanPropertyFilter filter = SimpleBeanPropertyFilter.filterOutAllExcept("id", "name", "joinDate", "ssn");
-            FilterProvider filterProvider = new SimpleFilterProvider().addFilter("UserInfo", filter); // @JsonFilter("UserInfo"), filter
-
-            MappingJacksonValue mapping = new MappingJacksonValue(model);
-            mapping.setFilters(filterProvider);
+            // 현재 컨트롤러의 retrieveAllUsers 메서드의 링크 템플릿으로 링크 생성
+            model.add(linkTemplates.link(UserControllerV2.class, "retrieveAllUsers", "all-users"));
             
-            return mapping;
+            return model;
         }
 
         throw new UserNotFoundException(String.format("ID[%s] not found", id));
@@ -91,10 +102,7 @@ public class UserControllerV2 implements V2Controller {
             .build();
         Long id = userService.saveUser(user);
 
-        URI location = ServletUriComponentsBuilder.fromCurrentRequest()
-            .path("/{id}") 
-            .buildAndExpand(id)
-            .toUri();
+        URI location = linkTemplates.uri(UserControllerV2.class, "retrieveUser", id);
         return ResponseEntity.created(location).build();
     }
 
@@ -103,6 +111,16 @@ public class UserControllerV2 implements V2Controller {
         userService.removeUser(id);
     }
 
+    /**
+     * 사용자 일괄 삭제 - DELETE /v2/users?ids=1,2,3
+     * 없는 id는 무시하며, 사용자와 게시글을 읽지 않고 set 기반 delete 문으로 삭제한다
+     */
+    @DeleteMapping("/users")
+    public void removeUsers(@RequestParam("ids") List<Long> ids) {
+        int deleted = userService.removeUsers(ids);
+        log.debug("Deleted {} of {} requested users", deleted, ids.size());
+    }
+
     /**
      * @Valid 어노테이션 추가하여 밸리데이션 활성화
      */
@@ -112,10 +130,7 @@ public class UserControllerV2 implements V2Controller {
         if (findUser.isEmpty()) {
             throw new UserNotFoundException(String.format("ID[%s] not found", userRequestDto.getId()));
         }
-        URI location = ServletUriComponentsBuilder.fromCurrentRequest()
-            .path("/{id}")
-            .buildAndExpand(userRequestDto.getId())
-            .toUri();
+        URI location = linkTemplates.uri(UserControllerV2.class, "retrieveUser", userRequestDto.getId());
         
         HttpHeaders responseHeaders = new HttpHeaders();
         responseHeaders.setLocation(location);
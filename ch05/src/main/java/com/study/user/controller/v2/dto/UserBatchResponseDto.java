@@ -0,0 +1,18 @@
+package com.study.user.controller.v2.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.study.common.dto.BaseDto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter @Setter
+@NoArgsConstructor
+public class UserBatchResponseDto extends BaseDto {
+    private int created;
+    private int failed;
+    private List<UserBatchResultDto> results = new ArrayList<>();
+}
@@ -0,0 +1,22 @@
+package com.study.user.controller.v2.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 일괄 등록 요청의 항목별 처리 결과 - index는 요청 본문에서의 순서(0부터)
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter @Setter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class UserBatchResultDto {
+    private int index;
+    private int status;
+    private Long id;
+    private String message;
+}
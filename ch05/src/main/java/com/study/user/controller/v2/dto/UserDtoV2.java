@@ -1,6 +1,8 @@
 package com.study.user.controller.v2.dto;
 
 import com.fasterxml.jackson.annotation.JsonFilter;
+import com.study.common.view.JsonViewRegistry;
+import com.study.serializer.GenerateSerializer;
 import com.study.user.controller.v1.dto.UserDto;
 
 import lombok.AllArgsConstructor;
@@ -11,7 +13,8 @@ import lombok.Setter;
 @AllArgsConstructor
 @NoArgsConstructor
 @Getter @Setter
-@JsonFilter("UserInfoV2")
+@JsonFilter(JsonViewRegistry.USER_INFO_V2)
+@GenerateSerializer
 public class UserDtoV2 extends UserDto {
     private String grade;
 }
@@ -0,0 +1,113 @@
+package com.study.user.controller.v3;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.study.common.api.CursorLinks;
+import com.study.common.api.v3.V3Controller;
+import com.study.common.dto.CursorPage;
+import com.study.common.dto.CursorRequest;
+import com.study.common.view.JsonViewWriters;
+import com.study.user.controller.v1.dto.UserDto;
+import com.study.user.controller.v3.dto.UserWithPostsDto;
+import com.study.user.service.UserService;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequiredArgsConstructor
+public class UserControllerV3 implements V3Controller {
+
+    private static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final String INCLUDE_POSTS = "posts";
+    private static final int DEFAULT_POST_LIMIT = 3;
+    private static final int MAX_POST_LIMIT = 20; /** 사용자 한명에 포함하는 게시글 수 상한 - 전체 게시글은 /v2/users/{id}/posts 로 조회 */
+
+    private final UserService userService;
+    private final ObjectMapper objectMapper;
+    private final JsonViewWriters jsonViewWriters;
+
+    @Value("${app.user.export.fetch-size:500}")
+    private int fetchSize;
+
+    /**
+     * 사용자 목록 - include=posts 이면 사용자마다 최근 게시글을 postLimit건까지 포함한다
+     * 사용자별로 게시글 목록을 다시 호출하지 않아도 되며, 페이지 크기와 무관하게 쿼리는 최대 두번이다
+     * 다음/이전 페이지는 Link 헤더로 전달
+     */
+    @GetMapping("/users")
+    public ResponseEntity<List<?>> retrieveAllUsers(@RequestParam(name = "after", required = false) String after,
+                                                    @RequestParam(name = "before", required = false) String before,
+                                                    @RequestParam(name = "limit", required = false) Integer limit,
+                                                    @RequestParam(name = "include", required = false) List<String> include,
+                                                    @RequestParam(name = "postLimit", required = false) Integer postLimit) {
+        CursorRequest request = CursorRequest.of(after, before, limit);
+        if (include == null || !include.contains(INCLUDE_POSTS)) {
+            CursorPage<UserDto> page = userService.findPage(request);
+            return new ResponseEntity<>(page.getContent(), CursorLinks.headers(page, request.getLimit()), HttpStatus.OK);
+        }
+
+        int posts = postLimit == null ? DEFAULT_POST_LIMIT : Math.max(1, Math.min(postLimit, MAX_POST_LIMIT));
+        CursorPage<UserWithPostsDto> page = userService.findPageWithPosts(request, posts);
+        return new ResponseEntity<>(page.getContent(), CursorLinks.headers(page, request.getLimit()), HttpStatus.OK);
+    }
+
+    /**
+     * 전체 사용자 내보내기
+     * DB 커서에서 읽은 행을 바로 JsonGenerator로 기록하므로 사용자 수와 무관하게 힙 사용량이 일정하다
+     * format=ndjson 이면 한 줄에 한 사용자, 기본값은 JSON 배열
+     */
+    @GetMapping("/users/export")
+    public ResponseEntity<StreamingResponseBody> exportUsers(
+            @RequestParam(name = "format", defaultValue = "json") String format) {
+        boolean ndjson = "ndjson".equalsIgnoreCase(format);
+        ObjectWriter writer = jsonViewWriters.writerFor(UserDto.class);
+
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+                if (ndjson) {
+                    generator.setRootValueSeparator(new SerializedString("\n"));
+                } else {
+                    generator.writeStartArray();
+                }
+
+                int[] count = {0};
+                userService.exportAll(fetchSize, user -> {
+                    try {
+                        writer.writeValue(generator, user);
+                        if (++count[0] % fetchSize == 0) {
+                            generator.flush();
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+
+                if (ndjson) {
+                    generator.writeRaw('\n');
+                } else {
+                    generator.writeEndArray();
+                }
+            }
+        };
+
+        return ResponseEntity.ok()
+            .contentType(ndjson ? APPLICATION_NDJSON : MediaType.APPLICATION_JSON)
+            .body(body);
+    }
+}
@@ -0,0 +1,22 @@
+package com.study.user.controller.v3.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import com.study.post.controller.v2.dto.PostDto;
+import com.study.user.controller.v1.dto.UserDto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 최근 게시글을 포함한 사용자 - 사용자 필드는 UserDto의 뷰(UserInfo) 그대로 펼쳐서 응답한다
+ */
+@Getter
+@AllArgsConstructor
+public class UserWithPostsDto {
+    @JsonUnwrapped
+    private final UserDto user;
+
+    private final List<PostDto> posts; /** 최신순, 최대 요청한 postLimit 건 */
+}
@@ -2,7 +2,6 @@ package com.study.user.domain;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
 
 import javax.persistence.CascadeType;
@@ -10,13 +9,21 @@ import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.EntityListeners;
 import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.OneToMany;
+import javax.persistence.Table;
+import javax.persistence.Version;
 
 import com.study.post.domain.Post;
 
 import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import lombok.AccessLevel;
@@ -30,9 +37,16 @@ import lombok.Setter;
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @Getter
 @Entity
+@Table(indexes = {
+    @Index(name = "idx_user_name", columnList = "name"), /** 이름으로 사용자 조회용 */
+    @Index(name = "idx_user_post_update_date", columnList = "postUpdateDate") /** 검색 색인 보정 시 게시글 목록이 바뀐 사용자 조회용 */
+})
 public class User {
     
-    @Id @GeneratedValue
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_id_generator")
+    @GenericGenerator(name = "user_id_generator", strategy = "com.study.common.id.PooledSequenceGenerator",
+        parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "user_seq"))
     private Long id;
 
     @Setter
@@ -48,6 +62,23 @@ public class User {
     @Column(updatable = false)
     private LocalDateTime joinDate;
 
+    @LastModifiedDate
+    private LocalDateTime updateDate;
+
+    /** 변경될 때마다 증가하는 버전 - 다른 노드의 캐시가 이 값으로 최신 여부를 확인한다 */
+    @Version
+    private Long version;
+
+    /** 이 사용자의 게시글이 생성/수정/삭제될 때마다 증가하는 버전 - 게시글 목록의 ETag로 사용 */
+    @Column(nullable = false)
+    private Long postVersion = 0L;
+
+    private LocalDateTime postUpdateDate;
+
+    /** 게시글 수 - 게시글 등록/삭제 시 DB에서 원자적으로 증감하며, 목록 조회 시 게시글 테이블을 읽지 않기 위해 비정규화 */
+    @Column(nullable = false)
+    private Long postCount = 0L;
+
     @BatchSize(size = 100)
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Post> posts = new ArrayList<>();
@@ -57,20 +88,10 @@ public class User {
         this.name = name;
         this.password = password;
         this.ssn = ssn;
-        posts.add(post);
-        post.setUser(this);
-    }
-
-    /** Post 삭제시 사용될 수 있는 연관관계 편의 메서드 */
-    public void removePost(Post post) {
-        Iterator<Post> iter = posts.iterator();
-        while (iter.hasNext()) {
-            Post target = iter.next();
-            if (target.getId().equals(post.getId())) {
-                iter.remove();
-                break;
-            }
+        if (post != null) { // 게시글 없이 가입하는 경우도 있음
+            posts.add(post);
+            post.setUser(this);
+            postCount = 1L;
         }
     }
-
 }
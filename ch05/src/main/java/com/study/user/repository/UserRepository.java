@@ -1,9 +1,99 @@
 package com.study.user.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import com.study.common.dto.VersionStamp;
+import com.study.user.controller.v1.dto.UserDto;
 import com.study.user.domain.User;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+/**
+ * 조회 쿼리는 엔티티 대신 응답에 필요한 컬럼만 DTO로 바로 조회한다
+ * v1, v2, admin 뷰가 노출하는 컬럼(id, name, joinDate, ssn)만 select 하므로 password, posts는 읽지 않는다
+ */
 public interface UserRepository extends JpaRepository<User, Long> {
-    
+
+    String USER_DTO = "new com.study.user.controller.v1.dto.UserDto(u.id, u.name, u.joinDate, u.ssn, u.postCount, u.version)";
+
+    /** 캐시된 사용자들의 현재 버전을 한번에 조회 - 행 전체를 다시 읽지 않고 캐시 재검증에 사용 */
+    @Query("select new com.study.common.dto.VersionStamp(u.id, u.version) from User u where u.id in :ids")
+    List<VersionStamp> findVersions(@Param("ids") Collection<Long> ids);
+
+    /** 조건부 GET 처리용 - 사용자 행의 버전과 수정 시각만 조회 */
+    @Query("select new com.study.common.dto.VersionStamp(u.id, u.version, u.updateDate) from User u where u.id = :id")
+    Optional<VersionStamp> findVersion(@Param("id") Long id);
+
+    /** 조건부 GET 처리용 - 사용자의 게시글 목록 버전과 마지막 변경 시각만 조회 */
+    @Query("select new com.study.common.dto.VersionStamp(u.id, u.postVersion, u.postUpdateDate) from User u where u.id = :id")
+    Optional<VersionStamp> findPostsVersion(@Param("id") Long id);
+
+    /**
+     * 사용자 정보 수정 - 엔티티를 읽어 변경 감지로 수정하면 그 사이 게시글 수 변경(changePostCount)이 버전을 올린 경우
+     * 낙관적 락 충돌이 나므로 update 문 한번으로 수정하고 버전과 수정 시각도 직접 갱신한다
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update User u set u.name = :name, u.password = :password, u.ssn = :ssn,"
+        + " u.version = u.version + 1, u.updateDate = :now where u.id = :id")
+    int updateProfile(@Param("id") Long id, @Param("name") String name, @Param("password") String password,
+                      @Param("ssn") String ssn, @Param("now") LocalDateTime now);
+
+    /** 게시글 목록이 since 이후 변경된 사용자 id - 검색 색인에서 다른 노드가 삭제한 게시글을 찾는 데 사용 */
+    @Query("select u.id from User u where u.postUpdateDate >= :since")
+    List<Long> findIdsByPostUpdateDateSince(@Param("since") LocalDateTime since);
+
+    /** 게시글이 변경되면 사용자의 게시글 목록 버전을 원자적으로 증가 */
+    @Modifying
+    @Query("update User u set u.postVersion = u.postVersion + 1, u.postUpdateDate = :now where u.id = :id")
+    int touchPosts(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    /**
+     * 게시글 등록/삭제 시 게시글 목록 버전과 게시글 수를 함께 원자적으로 증감
+     * 게시글 수는 사용자 응답에 포함되므로 사용자 버전도 올려 캐시와 ETag가 갱신되도록 한다
+     */
+    @Modifying
+    @Query("update User u set u.postVersion = u.postVersion + 1, u.postUpdateDate = :now,"
+        + " u.postCount = u.postCount + :delta, u.version = u.version + 1, u.updateDate = :now where u.id = :id")
+    int changePostCount(@Param("id") Long id, @Param("delta") long delta, @Param("now") LocalDateTime now);
+
+    /** id 범위 안에서 게시글 수가 실제 게시글 행 수와 다른 사용자만 보정 */
+    @Modifying
+    @Query("update User u set u.postCount = (select count(p) from Post p where p.user.id = u.id),"
+        + " u.version = u.version + 1, u.updateDate = :now"
+        + " where u.id between :fromId and :toId and u.postCount <> (select count(p) from Post p where p.user.id = u.id)")
+    int repairPostCounts(@Param("fromId") Long fromId, @Param("toId") Long toId, @Param("now") LocalDateTime now);
+
+    @Query("select max(u.id) from User u")
+    Long findMaxId();
+
+    /** 사용자 일괄 삭제 - 게시글은 PostRepository.deleteByUserIds로 먼저 삭제해야 한다 */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from User u where u.id in :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+
+    @Query("select " + USER_DTO + " from User u where u.id = :id")
+    Optional<UserDto> findDtoById(@Param("id") Long id);
+
+    /** id 커서 이후의 사용자 id만 오름차순으로 조회 - 본문을 스트리밍하기 전에 페이지 범위와 커서를 정하는 데 사용 */
+    @Query("select u.id from User u where u.id > :after order by u.id asc")
+    List<Long> findIdPageAfter(@Param("after") Long after, Pageable pageable);
+
+    /** id 커서 이전의 사용자 id만 내림차순으로 조회 - 이전 페이지 스트리밍용 */
+    @Query("select u.id from User u where u.id < :before order by u.id desc")
+    List<Long> findIdPageBefore(@Param("before") Long before, Pageable pageable);
+
+    /** id 커서 이후의 사용자를 id 오름차순으로 조회 - 조회 건수는 pageable의 size로 제한 */
+    @Query("select " + USER_DTO + " from User u where u.id > :after order by u.id asc")
+    List<UserDto> findPageAfter(@Param("after") Long after, Pageable pageable);
+
+    /** id 커서 이전의 사용자를 id 내림차순으로 조회 - 이전 페이지 조회용 */
+    @Query("select " + USER_DTO + " from User u where u.id < :before order by u.id desc")
+    List<UserDto> findPageBefore(@Param("before") Long before, Pageable pageable);
 }
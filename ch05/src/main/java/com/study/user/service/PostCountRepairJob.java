@@ -0,0 +1,37 @@
+package com.study.user.service;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 비정규화된 사용자 게시글 수(postCount)를 실제 게시글 수로 주기적으로 보정
+ * 게시글 쓰기 경로 밖(직접 SQL 수정 등)에서 생긴 불일치를 바로잡으며, 잠금 시간을 줄이기 위해 id 범위 단위로 나눠 트랜잭션을 실행한다
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PostCountRepairJob {
+
+    private static final long RANGE_SIZE = 1000; /** 한 트랜잭션에서 보정하는 id 범위 */
+
+    private final UserService userService;
+
+    @Scheduled(cron = "${app.user.post-count-repair.cron:0 0 4 * * *}")
+    public void repair() {
+        Long maxId = userService.findMaxId();
+        if (maxId == null) {
+            return;
+        }
+
+        int repaired = 0;
+        for (long from = 1; from <= maxId; from += RANGE_SIZE) {
+            repaired += userService.repairPostCounts(from, from + RANGE_SIZE - 1);
+        }
+        if (repaired > 0) {
+            log.warn("Repaired post count of {} users", repaired);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.study.user.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+
+import com.study.common.dto.VersionStamp;
+import com.study.user.controller.v1.dto.UserDto;
+import com.study.user.repository.UserRepository;
+
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 여러 노드가 같은 DB를 사용할 때 로컬 사용자 캐시를 최신으로 유지
+ * 주기마다 캐시된 id들의 버전만 한번에 조회해서 버전이 바뀌었거나 삭제된 항목을 캐시에서 제거한다
+ * 다른 노드에서 변경된 데이터는 최대 revalidate-interval 이후에는 반영된다
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserCacheRevalidator {
+
+    private static final int BATCH_SIZE = 1000; /** IN 절에 넣을 최대 id 개수 */
+
+    private final CacheManager cacheManager;
+    private final UserRepository userRepository;
+
+    @Scheduled(fixedDelayString = "${app.cache.revalidate-interval-ms:2000}")
+    public void revalidate() {
+        ConcurrentMap<Object, Object> entries = ((CaffeineCache) cacheManager.getCache(UserService.USER_CACHE))
+                .getNativeCache().asMap();
+        if (entries.isEmpty()) {
+            return;
+        }
+
+        List<Long> ids = entries.keySet().stream().map(Long.class::cast).collect(Collectors.toList());
+        int evicted = 0;
+        for (int from = 0; from < ids.size(); from += BATCH_SIZE) {
+            List<Long> batch = new ArrayList<>(ids.subList(from, Math.min(from + BATCH_SIZE, ids.size())));
+            Map<Long, Long> versions = userRepository.findVersions(batch).stream()
+                    .collect(Collectors.toMap(VersionStamp::getId, VersionStamp::getVersion, (a, b) -> a));
+
+            for (Long id : batch) {
+                UserDto user = (UserDto) entries.get(id);
+                if (user == null) {
+                    continue;
+                }
+                Long current = versions.get(id);
+                // 조회 이후 새 값으로 교체된 항목은 지우지 않도록 같은 객체일 때만 제거
+                if (!user.getVersion().equals(current) && entries.remove(id, user)) {
+                    evicted++;
+                }
+            }
+        }
+
+        if (evicted > 0) {
+            log.debug("Evicted {} stale user cache entries", evicted);
+        }
+    }
+}
@@ -1,14 +1,43 @@
 package com.study.user.service; 
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
+import javax.persistence.EntityManager;
+
+import com.study.common.dto.CursorPage;
+import com.study.common.dto.CursorRequest;
+import com.study.common.dto.VersionStamp;
+import com.study.post.controller.v2.dto.PostDto;
+import com.study.post.controller.v3.dto.UserPostDto;
+import com.study.post.event.UserPostsRemovedEvent;
+import com.study.post.repository.PostRepository;
 import com.study.user.controller.v1.dto.UserDto;
 import com.study.user.controller.v1.dto.UserRequestDto;
+import com.study.user.controller.v3.dto.UserWithPostsDto;
 import com.study.user.domain.User;
 import com.study.user.repository.UserRepository;
 
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.hibernate.query.Query;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -18,54 +47,231 @@ import lombok.RequiredArgsConstructor;
 @Service
 @Transactional
 public class UserService {
+
+    public static final String USER_CACHE = "users";
+    private static final int DELETE_CHUNK_SIZE = 1000;
     
     private final UserRepository userRepository;
+    private final PostRepository postRepository;
+    private final CacheManager cacheManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:100}")
+    private int jdbcBatchSize;
 
     @Transactional
+    @CacheEvict(cacheNames = USER_CACHE, key = "#user.id", condition = "#user.id != null")
     public Long saveUser(User user) {
         User savedUser = userRepository.save(user);
         return savedUser.getId();
     }
 
+    /** 없는 사용자는 캐시하지 않는다 - 이후 같은 id로 생성되어도 바로 조회되도록 */
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = USER_CACHE, key = "#id", unless = "#result == null")
     public Optional<UserDto> findOneUser(Long id) {
-        Optional<User> findUser = userRepository.findById(id);
-        if (findUser.isPresent()) {
-            User user = findUser.get();
-            UserDto userDto = new UserDto(user.getId(), user.getName(), user.getJoinDate(), user.getPassword(), user.getSsn());
-            return Optional.of(userDto);
+        return userRepository.findDtoById(id);
+    }
+
+    /**
+     * version 이후의 사용자 - 캐시된 값이 그보다 오래된 버전이면(다른 노드의 변경을 아직 재검증하지 않았거나, 커밋 전에 캐시가 지워진 뒤
+     * 이전 값이 다시 캐시된 경우) DB에서 다시 읽어 캐시를 교체한다
+     * 조건부 GET에서 ETag로 보낸 버전보다 오래된 본문을 응답하지 않기 위해 사용 - 버전은 증가만 하므로 더 최신인 값은 그대로 사용한다
+     */
+    @Transactional(readOnly = true)
+    public Optional<UserDto> findOneUser(Long id, Long version) {
+        Cache cache = cacheManager.getCache(USER_CACHE);
+        UserDto cached = cache.get(id, UserDto.class);
+        if (cached != null && cached.getVersion() >= version) {
+            return Optional.of(cached);
+        }
+        Optional<UserDto> user = userRepository.findDtoById(id);
+        if (user.isPresent()) {
+            cache.put(id, user.get());
         } else {
-            return Optional.empty();
+            cache.evict(id);
+        }
+        return user;
+    }
+
+    /**
+     * 여러 사용자를 한 트랜잭션에서 저장
+     * JDBC 배치 크기마다 flush/clear 해서 insert를 배치로 보내고 영속성 컨텍스트가 커지지 않도록 한다
+     */
+    @Transactional
+    public List<Long> saveUsers(List<User> users) {
+        List<Long> ids = new ArrayList<>(users.size());
+        for (int i = 0; i < users.size(); i++) {
+            User user = users.get(i);
+            entityManager.persist(user);
+            ids.add(user.getId());
+            if ((i + 1) % jdbcBatchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        return ids;
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<VersionStamp> findVersion(Long id) {
+        return userRepository.findVersion(id);
+    }
+
+    /**
+     * id 기준 커서 페이지 조회
+     * limit + 1건을 조회해서 다음(이전) 페이지 존재 여부를 판단한다
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<UserDto> findPage(CursorRequest request) {
+        PageRequest pageable = PageRequest.of(0, request.getLimit() + 1);
+        if (request.isBackward()) {
+            List<UserDto> users = userRepository.findPageBefore(CursorRequest.parseLong(request.getBefore()), pageable);
+            return CursorPage.of(request, users, user -> String.valueOf(user.getId()));
         }
+        Long after = request.getAfter() == null ? 0L : CursorRequest.parseLong(request.getAfter());
+        return CursorPage.of(request, userRepository.findPageAfter(after, pageable), user -> String.valueOf(user.getId()));
     }
 
-    public List<UserDto> findAll() {
-        return userRepository
-                    .findAll()
-                    .stream()
-                    .map(user -> new UserDto(user.getId(), user.getName(), user.getJoinDate(), user.getPassword(), user.getSsn()))
-                    .collect(Collectors.toList());
+    /**
+     * findPage와 같은 커서 페이지를 사용자 id만으로 조회 - 본문은 streamUsers로 스트리밍한다
+     * 응답 헤더(Link)와 커서를 본문을 쓰기 전에 정할 수 있다
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<Long> findPageIds(CursorRequest request) {
+        PageRequest pageable = PageRequest.of(0, request.getLimit() + 1);
+        if (request.isBackward()) {
+            List<Long> ids = userRepository.findIdPageBefore(CursorRequest.parseLong(request.getBefore()), pageable);
+            return CursorPage.of(request, ids, String::valueOf);
+        }
+        Long after = request.getAfter() == null ? 0L : CursorRequest.parseLong(request.getAfter());
+        return CursorPage.of(request, userRepository.findIdPageAfter(after, pageable), String::valueOf);
     }
 
+    /**
+     * 사용자 페이지와 각 사용자의 최근 게시글을 postLimit건까지 함께 조회
+     * 사용자 페이지 쿼리 한번과 페이지의 사용자 id를 in 조건으로 묶은 게시글 쿼리 한번으로, 페이지 크기와 무관하게 쿼리는 최대 두번이다
+     * User.posts 지연 로딩은 사용하지 않으며, 게시글이 없는(postCount = 0) 사용자는 게시글 쿼리 대상에서 제외한다
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<UserWithPostsDto> findPageWithPosts(CursorRequest request, int postLimit) {
+        CursorPage<UserDto> page = findPage(request);
+        List<Long> userIds = page.getContent().stream()
+            .filter(user -> user.getPostCount() != null && user.getPostCount() > 0)
+            .map(UserDto::getId)
+            .collect(Collectors.toList());
+
+        Map<Long, List<PostDto>> postsByUser = userIds.isEmpty() ? Collections.emptyMap()
+            : postRepository.findLatestByUserIds(userIds, postLimit).stream()
+                .collect(Collectors.groupingBy(UserPostDto::getUserId,
+                         Collectors.mapping(UserPostDto::getPost, Collectors.toList())));
+
+        List<UserWithPostsDto> content = page.getContent().stream()
+            .map(user -> new UserWithPostsDto(user, postsByUser.getOrDefault(user.getId(), Collections.emptyList())))
+            .collect(Collectors.toList());
+        return new CursorPage<>(content, page.getNextCursor(), page.getPrevCursor());
+    }
+
+    /**
+     * 전체 사용자를 id 순서로 스크롤하면서 한 건씩 consumer에 전달
+     * 결과를 리스트로 모으지 않고 clearInterval 건마다 영속성 컨텍스트를 비워서 힙 사용량을 일정하게 유지한다
+     */
+    @Transactional(readOnly = true)
+    public void exportAll(int clearInterval, Consumer<UserDto> consumer) {
+        String query = "select " + UserRepository.USER_DTO + " from User u order by u.id";
+        scroll(entityManager.unwrap(Session.class).createQuery(query, UserDto.class), clearInterval, consumer);
+    }
+
+    /**
+     * findPageIds로 정한 페이지의 사용자를 id 순서로 스크롤하면서 한 건씩 consumer에 전달 - 페이지를 리스트로 모으지 않는다
+     * findPageIds와 다른 트랜잭션이므로 범위가 아니라 id 목록(페이지 크기 이하)을 in 조건으로 조회한다
+     * 그 사이 범위 안에 추가된 사용자는 포함하지 않고, 삭제된 사용자는 건너뛴다
+     */
+    @Transactional(readOnly = true)
+    public void streamUsers(List<Long> ids, Consumer<UserDto> consumer) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        String query = "select " + UserRepository.USER_DTO + " from User u where u.id in :ids order by u.id";
+        scroll(entityManager.unwrap(Session.class).createQuery(query, UserDto.class).setParameterList("ids", ids),
+               ids.size(), consumer);
+    }
+
+    private void scroll(Query<UserDto> query, int clearInterval, Consumer<UserDto> consumer) {
+        Session session = entityManager.unwrap(Session.class);
+        try (ScrollableResults results = query
+                .setFetchSize(clearInterval)
+                .setReadOnly(true)
+                .scroll(ScrollMode.FORWARD_ONLY)) {
+            int count = 0;
+            while (results.next()) {
+                consumer.accept((UserDto) results.get(0));
+                if (++count % clearInterval == 0) {
+                    session.clear();
+                }
+            }
+        }
+    }
+
+    /**
+     * 사용자와 게시글을 엔티티로 읽지 않고 delete 문 두번으로 삭제
+     * 게시글 cascade/orphanRemoval로 지우면 게시글을 모두 읽어 한건씩 delete 하므로 사용하지 않는다
+     */
     @Transactional
+    @CacheEvict(cacheNames = USER_CACHE, key = "#id")
     public void removeUser(Long id) {
-        Optional<User> findUser = userRepository.findById(id);
-        if (findUser.isPresent()) { 
-            userRepository.delete(findUser.get());
+        List<Long> ids = Collections.singletonList(id);
+        postRepository.deleteByUserIds(ids);
+        userRepository.deleteByIds(ids);
+        eventPublisher.publishEvent(new UserPostsRemovedEvent(ids));
+    }
+
+    /**
+     * id 범위 안의 사용자 중 게시글 수가 실제와 다른 행만 다시 계산 - 변경된 행은 버전을 올려 캐시가 갱신되도록 한다
+     * @return 보정된 사용자 수
+     */
+    @Transactional
+    public int repairPostCounts(Long fromId, Long toId) {
+        return userRepository.repairPostCounts(fromId, toId, LocalDateTime.now());
+    }
+
+    @Transactional(readOnly = true)
+    public Long findMaxId() {
+        return userRepository.findMaxId();
+    }
+
+    /**
+     * 여러 사용자를 한 트랜잭션에서 삭제 - in 절 크기를 제한하기 위해 DELETE_CHUNK_SIZE 단위로 나눠 실행한다
+     * @return 삭제된 사용자 수
+     */
+    @Transactional
+    public int removeUsers(Collection<Long> ids) {
+        List<Long> distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        Cache cache = cacheManager.getCache(USER_CACHE);
+        int deleted = 0;
+        for (int from = 0; from < distinctIds.size(); from += DELETE_CHUNK_SIZE) {
+            List<Long> chunk = distinctIds.subList(from, Math.min(from + DELETE_CHUNK_SIZE, distinctIds.size()));
+            postRepository.deleteByUserIds(chunk);
+            deleted += userRepository.deleteByIds(chunk);
         }
+        distinctIds.forEach(cache::evict);
+        eventPublisher.publishEvent(new UserPostsRemovedEvent(distinctIds));
+        return deleted;
     }
 
+    /**
+     * update 문 한번으로 수정한 뒤 수정된 행을 다시 읽어 캐시에 넣는다 - 수정된 행이 없으면 empty
+     * 게시글 등록/삭제가 동시에 게시글 수와 버전을 올려도 충돌하지 않는다
+     */
     @Transactional
+    @CachePut(cacheNames = USER_CACHE, key = "#userRequestDto.id", unless = "#result == null")
     public Optional<UserDto> updateUser(UserRequestDto userRequestDto) {
-        Optional<User> findUser = userRepository.findById(userRequestDto.getId());
-        if(findUser.isPresent()) {
-            User user = findUser.get();
-            user.setName(userRequestDto.getName());
-            user.setPassword(userRequestDto.getPassword());
-            user.setSsn(userRequestDto.getSsn());
-            
-            UserDto userDto = new UserDto(user.getId(), user.getName(), user.getJoinDate(), user.getPassword(), user.getSsn());
-            return Optional.of(userDto);
-        } 
-        return Optional.empty();
+        int updated = userRepository.updateProfile(userRequestDto.getId(), userRequestDto.getName(),
+                                                   userRequestDto.getPassword(), userRequestDto.getSsn(), LocalDateTime.now());
+        if (updated == 0) {
+            return Optional.empty();
+        }
+        return userRepository.findDtoById(userRequestDto.getId());
     }
 }
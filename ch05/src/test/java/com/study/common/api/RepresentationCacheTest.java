@@ -0,0 +1,179 @@
+package com.study.common.api;
+
+import static com.study.support.ApiTestSupport.AUTHORIZATION;
+import static com.study.support.ApiTestSupport.statistics;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.ByteArrayInputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import javax.persistence.EntityManagerFactory;
+
+import com.study.post.controller.v2.dto.PostDto;
+import com.study.post.service.PostService;
+import com.study.user.domain.User;
+import com.study.user.service.UserService;
+
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * 표현 캐시 - 미디어 타입/gzip별 ETag와 304, gzip 본문, Accept-Encoding 해석, 캐시 영역별 메트릭
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class RepresentationCacheTest {
+
+    private static final String[] MEDIA_TYPES = {
+        "application/json", "application/hal+json", "application/xml", "application/x-jackson-smile", "application/cbor"};
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /** 같은 버전이라도 미디어 타입마다 다른 강한 ETag로 응답하고, 304는 선택된 표현의 ETag와 일치할 때만 */
+    @Test
+    void eachMediaTypeHasItsOwnETag() throws Exception {
+        Long id = user("variants");
+        Map<String, String> etags = new LinkedHashMap<>();
+        for (String mediaType : MEDIA_TYPES) {
+            MockHttpServletResponse response = mockMvc.perform(get("/v2/users/{id}", id).header(HttpHeaders.AUTHORIZATION, AUTHORIZATION)
+                    .header(HttpHeaders.ACCEPT, mediaType))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+            assertThat(response.getContentType()).startsWith(mediaType);
+            etags.put(mediaType, response.getHeader(HttpHeaders.ETAG));
+        }
+        assertThat(etags.values()).doesNotHaveDuplicates();
+        assertThat(etags.get("application/xml")).endsWith("-xml\"");
+
+        for (String mediaType : MEDIA_TYPES) {
+            mockMvc.perform(get("/v2/users/{id}", id).header(HttpHeaders.AUTHORIZATION, AUTHORIZATION)
+                    .header(HttpHeaders.ACCEPT, mediaType).header(HttpHeaders.IF_NONE_MATCH, etags.get(mediaType)))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etags.get(mediaType)));
+        }
+        mockMvc.perform(get("/v2/users/{id}", id).header(HttpHeaders.AUTHORIZATION, AUTHORIZATION)
+                .header(HttpHeaders.ACCEPT, "application/xml").header(HttpHeaders.IF_NONE_MATCH, etags.get("application/json")))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, etags.get("application/xml")));
+    }
+
+    /** gzip 본문은 인코딩하지 않은 본문을 압축한 것이고, * 를 거부해도 gzip을 명시하면 gzip으로 응답한다 */
+    @Test
+    void gzipBodyDecodesToIdentityBody() throws Exception {
+        Long userId = userWithPosts("gzip-body");
+        byte[] identity = mockMvc.perform(get("/v2/users/{userId}/posts", userId).header(HttpHeaders.AUTHORIZATION, AUTHORIZATION))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+            .andReturn().getResponse().getContentAsByteArray();
+
+        MockHttpServletResponse gzip = mockMvc.perform(get("/v2/users/{userId}/posts", userId).header(HttpHeaders.AUTHORIZATION, AUTHORIZATION)
+                .header(HttpHeaders.ACCEPT_ENCODING, "*;q=0, gzip"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+            .andReturn().getResponse();
+        assertThat(new GZIPInputStream(new ByteArrayInputStream(gzip.getContentAsByteArray())).readAllBytes()).isEqualTo(identity);
+        assertThat(gzip.getHeader(HttpHeaders.ETAG)).endsWith("-gzip\"");
+
+        mockMvc.perform(get("/v2/users/{userId}/posts", userId).header(HttpHeaders.AUTHORIZATION, AUTHORIZATION)
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0, *"))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    /** 304는 버전 조회 한번으로 응답하고 캐시를 조회하지 않는다 */
+    @Test
+    void notModifiedDoesNotReadCache() throws Exception {
+        Long userId = userWithPosts("not-modified");
+        String etag = mockMvc.perform(get("/v2/users/{userId}/posts", userId).header(HttpHeaders.AUTHORIZATION, AUTHORIZATION))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        double gets = gets(RepresentationCache.POST_LISTS, "hit") + gets(RepresentationCache.POST_LISTS, "miss");
+
+        Statistics statistics = statistics(entityManagerFactory);
+        mockMvc.perform(get("/v2/users/{userId}/posts", userId).header(HttpHeaders.AUTHORIZATION, AUTHORIZATION)
+                .header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isNotModified());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(gets(RepresentationCache.POST_LISTS, "hit") + gets(RepresentationCache.POST_LISTS, "miss")).isEqualTo(gets);
+    }
+
+    /** 게시글 목록은 사용자 응답과 별도 영역(POST_LISTS)에 저장되고 적중 수도 영역별로 집계된다 */
+    @Test
+    void postListsHaveTheirOwnRegion() throws Exception {
+        Long userId = userWithPosts("region");
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(get("/v2/users/{userId}/posts", userId).header(HttpHeaders.AUTHORIZATION, AUTHORIZATION))
+                .andExpect(status().isOk());
+        }
+        double postListHits = gets(RepresentationCache.POST_LISTS, "hit");
+        double representationHits = gets(RepresentationCache.REPRESENTATIONS, "hit");
+
+        mockMvc.perform(get("/v2/users/{userId}/posts", userId).header(HttpHeaders.AUTHORIZATION, AUTHORIZATION))
+            .andExpect(status().isOk());
+        assertThat(gets(RepresentationCache.POST_LISTS, "hit")).isEqualTo(postListHits + 1);
+        assertThat(gets(RepresentationCache.REPRESENTATIONS, "hit")).isEqualTo(representationHits);
+    }
+
+    @ParameterizedTest(name = "[{0}] -> {1}")
+    @CsvSource(delimiter = '|', value = {
+        "gzip | true",
+        "* | true",
+        "*;q=0, gzip | true",
+        "gzip;q=0, * | false",
+        "gzip;q=0.000 | false",
+        "deflate, gzip;q=0.5 | true",
+        "identity | false",
+        "'' | false"})
+    void explicitGzipTakesPrecedenceOverWildcard(String acceptEncoding, boolean expected) {
+        assertThat(RepresentationCache.acceptsGzip(acceptEncoding)).isEqualTo(expected);
+    }
+
+    private double gets(String cacheName, String result) {
+        return meterRegistry.get("cache.gets").tag("cache", cacheName).tag("result", result).functionCounter().count();
+    }
+
+    private Long user(String name) {
+        return userService.saveUser(User.builder().name(name).password("pw").ssn("701010-1111111").build());
+    }
+
+    /** gzip-min-bytes보다 커서 압축본이 저장되는 목록 */
+    private Long userWithPosts(String name) {
+        Long userId = user(name);
+        for (int i = 0; i < 10; i++) {
+            PostDto post = new PostDto();
+            post.setDescription("a post long enough that the serialized list is worth compressing " + i);
+            postService.savePostByUser(userId, post);
+        }
+        return userId;
+    }
+}
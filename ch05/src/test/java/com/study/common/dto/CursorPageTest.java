@@ -0,0 +1,59 @@
+package com.study.common.dto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * limit + 1건 조회 결과의 페이지 변환 - 사용자 목록, 사용자별 게시글, 게시글 피드가 같은 규칙을 사용한다
+ */
+class CursorPageTest {
+
+    @Test
+    void firstPageHasOnlyNextCursor() {
+        CursorPage<Long> page = CursorPage.of(CursorRequest.of(null, null, 2), List.of(1L, 2L, 3L), String::valueOf);
+
+        assertThat(page.getContent()).containsExactly(1L, 2L);
+        assertThat(page.getNextCursor()).isEqualTo("2");
+        assertThat(page.getPrevCursor()).isNull();
+    }
+
+    @Test
+    void lastPageAfterCursorHasOnlyPrevCursor() {
+        CursorPage<Long> page = CursorPage.of(CursorRequest.of("2", null, 2), List.of(3L), String::valueOf);
+
+        assertThat(page.getContent()).containsExactly(3L);
+        assertThat(page.getNextCursor()).isNull();
+        assertThat(page.getPrevCursor()).isEqualTo("3");
+    }
+
+    /** 이전 페이지는 역순으로 조회되므로 뒤집어서 응답한다 */
+    @Test
+    void backwardPageIsReversed() {
+        CursorPage<Long> page = CursorPage.of(CursorRequest.of(null, "5", 2), List.of(4L, 3L, 2L), String::valueOf);
+
+        assertThat(page.getContent()).containsExactly(3L, 4L);
+        assertThat(page.getNextCursor()).isEqualTo("4");
+        assertThat(page.getPrevCursor()).isEqualTo("3");
+    }
+
+    @Test
+    void backwardFirstPageHasNoPrevCursor() {
+        CursorPage<Long> page = CursorPage.of(CursorRequest.of(null, "3", 2), List.of(2L, 1L), String::valueOf);
+
+        assertThat(page.getContent()).containsExactly(1L, 2L);
+        assertThat(page.getNextCursor()).isEqualTo("2");
+        assertThat(page.getPrevCursor()).isNull();
+    }
+
+    @Test
+    void emptyPageHasNoCursors() {
+        CursorPage<Long> page = CursorPage.of(CursorRequest.of("9", null, 2), List.of(), String::valueOf);
+
+        assertThat(page.getContent()).isEmpty();
+        assertThat(page.getNextCursor()).isNull();
+        assertThat(page.getPrevCursor()).isNull();
+    }
+}
@@ -0,0 +1,35 @@
+package com.study.common.json;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+class GeneratedSerializerModuleTest {
+
+    private final ObjectMapper reflective = new ObjectMapper();
+    private final ObjectMapper generated = new ObjectMapper().registerModule(new GeneratedSerializerModule());
+
+    static List<Arguments> values() {
+        return List.of(
+            Arguments.of("empty", new NonEmptyDto(List.of(), Map.of(), new int[0], new String[0])),
+            Arguments.of("null", new NonEmptyDto(null, null, null, null)),
+            Arguments.of("filled", new NonEmptyDto(List.of("a"), Map.of("a", 1), new int[] {1}, new String[] {"a"})));
+    }
+
+    /** 생성된 직렬화 클래스가 빈 컨테이너를 Jackson 빈 직렬화와 같이 생략한다 */
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("values")
+    void writesSameJsonAsJackson(String name, NonEmptyDto value) throws Exception {
+        assertThat(generated.getSerializerProviderInstance().findValueSerializer(NonEmptyDto.class))
+            .isInstanceOf(NonEmptyDtoJsonSerializer.class);
+
+        assertThat(generated.writeValueAsString(value)).isEqualTo(reflective.writeValueAsString(value));
+    }
+}
@@ -0,0 +1,47 @@
+package com.study.common.json;
+
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.study.serializer.GenerateSerializer;
+
+/** NON_EMPTY/NON_DEFAULT 컨테이너 프로퍼티 - GeneratedSerializerModuleTest에서 생성된 직렬화 결과를 비교한다 */
+@GenerateSerializer
+public class NonEmptyDto {
+
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private final List<String> tags;
+
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private final Map<String, Integer> counts;
+
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private final int[] scores;
+
+    @JsonInclude(JsonInclude.Include.NON_DEFAULT)
+    private final String[] names;
+
+    public NonEmptyDto(List<String> tags, Map<String, Integer> counts, int[] scores, String[] names) {
+        this.tags = tags;
+        this.counts = counts;
+        this.scores = scores;
+        this.names = names;
+    }
+
+    public List<String> getTags() {
+        return tags;
+    }
+
+    public Map<String, Integer> getCounts() {
+        return counts;
+    }
+
+    public int[] getScores() {
+        return scores;
+    }
+
+    public String[] getNames() {
+        return names;
+    }
+}
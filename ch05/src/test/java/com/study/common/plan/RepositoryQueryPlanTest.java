@@ -0,0 +1,233 @@
+package com.study.common.plan;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.NamedNativeQueries;
+import javax.persistence.NamedNativeQuery;
+import javax.persistence.metamodel.EntityType;
+import javax.sql.DataSource;
+
+import com.study.common.dto.CursorRequest;
+import com.study.post.repository.PostBodyRepository;
+import com.study.post.repository.PostRepository;
+import com.study.user.repository.UserRepository;
+
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.RowSelection;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.hql.spi.QueryTranslator;
+import org.hibernate.hql.spi.QueryTranslatorFactory;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * 리포지토리의 모든 @Query(JPQL, 네이티브)를 SQL로 변환해 H2에서 EXPLAIN 하고, 테이블이나 인덱스 전체를 읽으면 실패한다
+ * 스키마나 쿼리 변경으로 인덱스를 타지 않게 되는 것을 빌드에서 발견하기 위한 검사로, 실행 계획 형식은 H2 기준이다
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+class RepositoryQueryPlanTest {
+
+    private static final List<Class<?>> REPOSITORIES = List.of(UserRepository.class, PostRepository.class, PostBodyRepository.class);
+    /** 실행 계획의 테이블 접근 - 인덱스 이름 뒤에 ": 조건"이 없으면 인덱스 전체를 읽는다 (서브쿼리 안은 /++ ++/로 표시된다) */
+    private static final Pattern ACCESS = Pattern.compile("/(?:\\*|\\+\\+) *PUBLIC\\.([A-Z0-9_]+)(\\.tableScan)?(:.*?)? *(?:\\*|\\+\\+)/",
+                                                          Pattern.DOTALL);
+    private static final String DIRECT_LOOKUP = "direct lookup"; /** min/max 등을 인덱스 끝에서 바로 읽는 경우 - tableScan이 함께 표시된다 */
+    private static final String INDEX_SORTED = "index sorted"; /** 정렬 순서대로 인덱스를 읽는 경우 - limit이 있어야 그 건수에서 멈춘다 */
+    private static final Pattern LIMIT = Pattern.compile("\\b(?:LIMIT|FETCH FIRST)\\b");
+    private static final Pattern SUBQUERY_PLAN = Pattern.compile("/\\*\\s*SELECT\\b"); /** 파생 테이블의 실행 계획 주석 - 안쪽 주석은 /++ ++/로 표시된다 */
+    private static final int PAGE_SIZE = CursorRequest.DEFAULT_LIMIT + 1; /** Pageable 쿼리는 서비스와 같이 한건 더 읽는다 */
+
+    /** 전체 행을 읽는 것이 의도된 쿼리 */
+    private static final Set<String> ALLOWED_TABLE_SCANS = Set.of(
+        "PostRepository.streamAllDocuments" // 검색 색인 구축
+    );
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private DataSource dataSource;
+
+    static Stream<Arguments> repositoryQueries() {
+        return REPOSITORIES.stream()
+            .flatMap(repository -> Arrays.stream(repository.getDeclaredMethods()))
+            .filter(method -> method.isAnnotationPresent(Query.class))
+            .map(method -> Arguments.of(method.getDeclaringClass().getSimpleName() + "." + method.getName(), method));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("repositoryQueries")
+    void queryUsesIndex(String name, Method method) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            for (String sql : toSql(method.getAnnotation(Query.class))) {
+                String plan = explain(connection, hasPageable(method) ? withLimit(sql) : sql);
+                if (ALLOWED_TABLE_SCANS.contains(name)) {
+                    continue;
+                }
+                assertThat(fullScans(plan)).as("%s reads a whole table or index:%n%s", name, plan).isEmpty();
+            }
+        }
+    }
+
+    /**
+     * 조건 없이 전체를 읽는 테이블 접근 - 예외(direct lookup, index sorted)는 그 접근이 속한 SELECT에 표시된 경우만 인정한다
+     * index sorted는 그 SELECT에서 처음 읽는(정렬 순서를 정하는) 테이블이고 limit이 있을 때만 전체를 읽지 않는다
+     */
+    private static List<String> fullScans(String plan) {
+        int[] depths = depths(plan);
+        List<String> scans = new ArrayList<>();
+        Matcher access = ACCESS.matcher(plan);
+        while (access.find()) {
+            int depth = depths[access.start()];
+            int start = access.start();
+            while (start > 0 && depths[start - 1] >= depth) {
+                start--;
+            }
+            int end = access.end();
+            while (end < plan.length() && depths[end] >= depth) {
+                end++;
+            }
+            String select = sameLevel(plan, depths, start, end, depth);
+            boolean driving = firstAccess(plan, depths, start, end, depth) == access.start();
+
+            boolean tableScan = access.group(2) != null && !select.contains(DIRECT_LOOKUP);
+            boolean indexScan = access.group(2) == null && access.group(3) == null
+                && !(driving && select.contains(INDEX_SORTED) && LIMIT.matcher(select).find());
+            if (tableScan || indexScan) {
+                scans.add(access.group(1));
+            }
+        }
+        return scans;
+    }
+
+    /** 각 문자가 속한 SELECT의 중첩 깊이 - 괄호와 파생 테이블의 실행 계획 주석 안으로 들어가면 1 증가한다 */
+    private static int[] depths(String plan) {
+        int[] depths = new int[plan.length()];
+        Matcher subquery = SUBQUERY_PLAN.matcher(plan);
+        int subqueryEnd = -1;
+        int depth = 0;
+        for (int i = 0; i < plan.length(); i++) {
+            if (i == subqueryEnd) {
+                depth--;
+                subqueryEnd = -1;
+            }
+            if (subqueryEnd < 0 && subquery.find(i) && subquery.start() == i) {
+                depth++;
+                subqueryEnd = plan.indexOf("*/", subquery.end()) + 2;
+            }
+            char c = plan.charAt(i);
+            if (c == ')') {
+                depth--;
+            }
+            depths[i] = depth;
+            if (c == '(') {
+                depth++;
+            }
+        }
+        return depths;
+    }
+
+    /** [start, end) 중 중첩된 SELECT를 뺀 depth 깊이의 문자열 */
+    private static String sameLevel(String plan, int[] depths, int start, int end, int depth) {
+        StringBuilder text = new StringBuilder();
+        for (int i = start; i < end; i++) {
+            text.append(depths[i] == depth ? plan.charAt(i) : ' ');
+        }
+        return text.toString();
+    }
+
+    private static int firstAccess(String plan, int[] depths, int start, int end, int depth) {
+        Matcher access = ACCESS.matcher(plan).region(start, end);
+        while (access.find()) {
+            if (depths[access.start()] == depth) {
+                return access.start();
+            }
+        }
+        return -1;
+    }
+
+    private static boolean hasPageable(Method method) {
+        return Arrays.stream(method.getParameterTypes()).anyMatch(Pageable.class::isAssignableFrom);
+    }
+
+    /** Hibernate가 setMaxResults로 실행할 때와 같은 limit 절 - 추가된 파라미터는 explain에서 PAGE_SIZE로 바인딩한다 */
+    private String withLimit(String sql) {
+        RowSelection selection = new RowSelection();
+        selection.setFirstRow(0);
+        selection.setMaxRows(PAGE_SIZE);
+        Dialect dialect = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+        return dialect.getLimitHandler().processSql(sql, selection);
+    }
+
+    /** JPQL은 Hibernate 쿼리 변환기로, 네이티브 쿼리는 이름 있는 쿼리 정의에서 SQL을 얻고 이름 파라미터를 ?로 바꾼다 */
+    private List<String> toSql(Query query) {
+        if (query.nativeQuery()) {
+            String sql = query.value().isEmpty() ? namedNativeQuery(query.name()) : query.value();
+            return List.of(sql.replaceAll(":\\w+", "?"));
+        }
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        QueryTranslator translator = sessionFactory.getServiceRegistry().getService(QueryTranslatorFactory.class)
+            .createQueryTranslator(query.value(), query.value(), Collections.emptyMap(), sessionFactory, null);
+        translator.compile(Collections.emptyMap(), false);
+        return translator.collectSqlStrings();
+    }
+
+    private String namedNativeQuery(String name) {
+        for (EntityType<?> entity : entityManagerFactory.getMetamodel().getEntities()) {
+            List<NamedNativeQuery> queries = new ArrayList<>(Arrays.asList(entity.getJavaType().getAnnotationsByType(NamedNativeQuery.class)));
+            NamedNativeQueries container = entity.getJavaType().getAnnotation(NamedNativeQueries.class);
+            if (container != null) {
+                queries.addAll(Arrays.asList(container.value()));
+            }
+            for (NamedNativeQuery query : queries) {
+                if (query.name().equals(name)) {
+                    return query.query();
+                }
+            }
+        }
+        throw new IllegalArgumentException("Named native query not found: " + name);
+    }
+
+    /** 조건 파라미터 값은 실행 계획에 영향을 주지 않으므로 null로, withLimit이 붙인 limit 파라미터는 PAGE_SIZE로 바인딩한다 */
+    private static String explain(Connection connection, String sql) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+            int parameterCount = statement.getParameterMetaData().getParameterCount();
+            for (int i = 1; i <= parameterCount; i++) {
+                statement.setObject(i, null);
+            }
+            Matcher limit = Pattern.compile("\\blimit \\?$").matcher(sql);
+            if (limit.find()) {
+                statement.setInt(parameterCount, PAGE_SIZE);
+            }
+            try (ResultSet resultSet = statement.executeQuery()) {
+                StringBuilder plan = new StringBuilder();
+                while (resultSet.next()) {
+                    plan.append(resultSet.getString(1));
+                }
+                return plan.toString();
+            }
+        }
+    }
+}
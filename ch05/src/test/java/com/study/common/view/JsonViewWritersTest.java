@@ -0,0 +1,44 @@
+package com.study.common.view;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.study.user.controller.v1.dto.UserDto;
+
+import org.junit.jupiter.api.Test;
+
+class JsonViewWritersTest {
+
+    /** 스트리밍 응답에서 행마다 서블릿 스트림이 flush 되지 않는다 */
+    @Test
+    void writerDoesNotFlushAfterEachValue() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        ObjectWriter writer = new JsonViewWriters(objectMapper).writerFor(UserDto.class);
+        FlushCountingStream out = new FlushCountingStream();
+
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.writeStartArray();
+            for (long id = 1; id <= 10; id++) {
+                writer.writeValue(generator, new UserDto(id, "user" + id, LocalDateTime.of(2026, 10, 18, 14, 30), "701010-1111111", 0L, 0L));
+            }
+            assertThat(out.flushes).isZero();
+            generator.writeEndArray();
+        }
+
+        assertThat(objectMapper.readTree(out.toByteArray()).size()).isEqualTo(10);
+    }
+
+    private static class FlushCountingStream extends ByteArrayOutputStream {
+        private int flushes;
+
+        @Override
+        public void flush() {
+            flushes++;
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package com.study.post.controller.v2;
+
+import static com.study.support.ApiTestSupport.AUTHORIZATION;
+import static com.study.support.ApiTestSupport.statistics;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import javax.persistence.EntityManagerFactory;
+
+import com.study.common.api.RepresentationCache;
+import com.study.post.controller.v2.dto.PostDto;
+import com.study.post.service.PostService;
+import com.study.user.domain.User;
+import com.study.user.service.UserService;
+
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * 게시글 쓰기 API의 SQL 문장 수 - 조회 후 수정/삭제하지 않고 조건부 update/delete의 영향 행 수로 404를 판단한다
+ * 게시글 목록 캐시와 gzip 표현의 ETag, 게시글 본문의 Range/If-Range 처리
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class PostControllerV2Test {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /** 캐시된 목록은 게시글 목록 버전 조회 한번으로 응답하고, 게시글이 추가되면 버전이 바뀌어 다시 조회한다 */
+    @Test
+    void postListIsServedFromCacheUntilVersionChanges() throws Exception {
+        Long userId = user("list-cache");
+        savePost(userId);
+        mockMvc.perform(get("/v2/users/{userId}/posts", userId).header(HttpHeaders.AUTHORIZATION, AUTHORIZATION))
+            .andExpect(status().isOk());
+        double hits = postListHits();
+
+        Statistics statistics = statistics(entityManagerFactory);
+        mockMvc.perform(get("/v2/users/{userId}/posts", userId).header(HttpHeaders.AUTHORIZATION, AUTHORIZATION))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(postListHits()).isEqualTo(hits + 1);
+
+        savePost(userId);
+        mockMvc.perform(get("/v2/users/{userId}/posts", userId).header(HttpHeaders.AUTHORIZATION, AUTHORIZATION))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(2));
+    }
+
+    /** 게시글 수 update, 게시글 insert, 본문 insert - id 풀이 비었을 때만 시퀀스 조회가 한번 더 있다 */
+    @Test
+    void createPostStatementBudget() throws Exception {
+        Long userId = user("create");
+
+        Statistics statistics = statistics(entityManagerFactory);
+        mockMvc.perform(post("/v2/users/{userId}/posts", userId).header(HttpHeaders.AUTHORIZATION, AUTHORIZATION)
+                .contentType(MediaType.APPLICATION_JSON).content("{\"description\":\"new post\"}"))
+            .andExpect(status().isCreated());
+
+        assertThat(statistics.getPrepareStatementCount()).isBetween(3L, 4L);
+    }
+
+    /** 요약 update, 본문 update, 게시글 목록 버전 update */
+    @Test
+    void modifyPostStatementBudget() throws Exception {
+        Long userId = user("modify");
+        Long postId = savePost(userId);
+
+        Statistics statistics = statistics(entityManagerFactory);
+        mockMvc.perform(put("/v2/users/{userId}/posts", userId).header(HttpHeaders.AUTHORIZATION, AUTHORIZATION)
+                .contentType(MediaType.APPLICATION_JSON).content("{\"id\":" + postId + ",\"description\":\"modified\"}"))
+            .andExpect(status().isOk());
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    /** 게시글 delete, 게시글 수 update */
+    @Test
+    void removePostStatementBudget() throws Exception {
+        Long userId = user("remove");
+        Long postId = savePost(userId);
+
+        Statistics statistics = statistics(entityManagerFactory);
+        mockMvc.perform(delete("/v2/users/{userId}/posts/{postId}", userId, postId).header(HttpHeaders.AUTHORIZATION, AUTHORIZATION))
+            .andExpect(status().isOk());
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    /**
+     * 다른 사용자의 게시글이거나 없는 게시글이면 조건부 update/delete 후 사용자 존재 여부만 확인하고 404
+     * 없는 사용자의 게시글 등록은 게시글 수 update 한번으로 404
+     */
+    @Test
+    void missingPostIsNotFoundWithoutLoadingEntities() throws Exception {
+        Long userId = user("missing");
+        Long otherPostId = savePost(user("other"));
+
+        Statistics statistics = statistics(entityManagerFactory);
+        mockMvc.perform(put("/v2/users/{userId}/posts", userId).header(HttpHeaders.AUTHORIZATION, AUTHORIZATION)
+                .contentType(MediaType.APPLICATION_JSON).content("{\"id\":" + otherPostId + ",\"description\":\"modified\"}"))
+            .andExpect(status().isNotFound());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+
+        statistics.clear();
+        mockMvc.perform(delete("/v2/users/{userId}/posts/{postId}", userId, otherPostId).header(HttpHeaders.AUTHORIZATION, AUTHORIZATION))
+            .andExpect(status().isNotFound());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+
+        statistics.clear();
+        mockMvc.perform(post("/v2/users/{userId}/posts", Long.MAX_VALUE).header(HttpHeaders.AUTHORIZATION, AUTHORIZATION)
+                .contentType(MediaType.APPLICATION_JSON).content("{\"description\":\"new post\"}"))
+            .andExpect(status().isNotFound());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    /** gzip 표현은 인코딩하지 않은 표현과 다른 강한 ETag로 응답하고, 두 ETag 모두 같은 버전이면 304 */
+    @Test
+    void gzipRepresentationHasItsOwnETag() throws Exception {
+        Long userId = user("gzip");
+        for (int i = 0; i < 10; i++) {
+            savePost(userId, "a post long enough that the serialized list is worth compressing " + i);
+        }
+        String identityEtag = mockMvc.perform(get("/v2/users/{userId}/posts", userId).header(HttpHeaders.AUTHORIZATION, AUTHORIZATION))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String gzipEtag = mockMvc.perform(get("/v2/users/{userId}/posts", userId).header(HttpHeaders.AUTHORIZATION, AUTHORIZATION)
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertThat(gzipEtag).isEqualTo(identityEtag.substring(0, identityEtag.length() - 1) + "-gzip\"");
+        mockMvc.perform(get("/v2/users/{userId}/posts", userId).header(HttpHeaders.AUTHORIZATION, AUTHORIZATION)
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip").header(HttpHeaders.IF_NONE_MATCH, gzipEtag))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, gzipEtag));
+        mockMvc.perform(get("/v2/users/{userId}/posts", userId).header(HttpHeaders.AUTHORIZATION, AUTHORIZATION)
+                .header(HttpHeaders.IF_NONE_MATCH, identityEtag))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, identityEtag));
+    }
+
+    /** If-Range가 현재 ETag와 같으면 요청한 범위만 206으로 응답 */
+    @Test
+    void rangeWithMatchingIfRangeIsPartial() throws Exception {
+        Long userId = user("range");
+        Long postId = savePost(userId, "0123456789abcdefghij");
+        String etag = mockMvc.perform(get("/v2/users/{userId}/posts/{postId}/body", userId, postId).header(HttpHeaders.AUTHORIZATION, AUTHORIZATION))
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/v2/users/{userId}/posts/{postId}/body", userId, postId).header(HttpHeaders.AUTHORIZATION, AUTHORIZATION)
+                .header(HttpHeaders.RANGE, "bytes=10-14").header(HttpHeaders.IF_RANGE, etag))
+            .andExpect(status().isPartialContent())
+            .andExpect(content().string("abcde"));
+    }
+
+    /** 받던 중 게시글이 수정되어 If-Range가 이전 ETag이면 Range를 무시하고 전체 본문을 200으로 응답 */
+    @Test
+    void rangeWithStaleIfRangeIsFullBody() throws Exception {
+        Long userId = user("stale-range");
+        Long postId = savePost(userId, "0123456789abcdefghij");
+        String staleEtag = mockMvc.perform(get("/v2/users/{userId}/posts/{postId}/body", userId, postId).header(HttpHeaders.AUTHORIZATION, AUTHORIZATION))
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        PostDto modified = new PostDto();
+        modified.setId(postId);
+        modified.setDescription("modified body");
+        postService.modifyPostByUser(userId, modified);
+
+        for (String ifRange : new String[] {staleEtag, "W/" + staleEtag, "Sat, 01 Jan 2000 00:00:00 GMT"}) {
+            mockMvc.perform(get("/v2/users/{userId}/posts/{postId}/body", userId, postId).header(HttpHeaders.AUTHORIZATION, AUTHORIZATION)
+                    .header(HttpHeaders.RANGE, "bytes=0-3").header(HttpHeaders.IF_RANGE, ifRange))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_RANGE))
+                .andExpect(content().string("modified body"));
+        }
+    }
+
+    private double postListHits() {
+        return meterRegistry.get("cache.gets").tag("cache", RepresentationCache.POST_LISTS).tag("result", "hit")
+            .functionCounter().count();
+    }
+
+    private Long user(String name) {
+        return userService.saveUser(User.builder().name(name).password("pw").ssn("701010-1111111").build());
+    }
+
+    private Long savePost(Long userId) {
+        return savePost(userId, "post of " + userId);
+    }
+
+    private Long savePost(Long userId, String description) {
+        PostDto post = new PostDto();
+        post.setDescription(description);
+        return postService.savePostByUser(userId, post);
+    }
+}
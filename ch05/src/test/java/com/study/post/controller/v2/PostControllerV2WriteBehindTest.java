@@ -0,0 +1,115 @@
+package com.study.post.controller.v2;
+
+import static com.study.support.ApiTestSupport.AUTHORIZATION;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.study.post.controller.v2.dto.PendingPostDto;
+import com.study.post.service.PostWriteBehindQueue;
+import com.study.user.domain.User;
+import com.study.user.service.UserService;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * 쓰기 지연 모드의 게시글 등록 - 202와 처리 상태 URL, 상태 조회, 대기열이 요청을 받을 수 없을 때의 429
+ * 다른 테스트와 컨텍스트가 다르므로 메모리 DB도 따로 쓴다 - 같은 DB면 스키마를 다시 만들어 다른 컨텍스트가 미리 받아둔 id와 겹친다
+ */
+@SpringBootTest(properties = {
+    "app.post.write-behind.enabled=true",
+    "spring.datasource.url=jdbc:h2:mem:write-behind;DB_CLOSE_DELAY=-1"})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class PostControllerV2WriteBehindTest {
+
+    private static final long TIMEOUT_MS = 5000;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private PostWriteBehindQueue postWriteBehindQueue;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void createIsAcceptedAndStatusBecomesCreated() throws Exception {
+        Long userId = userService.saveUser(User.builder().name("write-behind").password("pw").ssn("701010-1111111").build());
+
+        String location = create(userId, "queued post");
+
+        JsonNode status = awaitDone(location);
+        assertThat(status.get("status").asText()).isEqualTo(PendingPostDto.CREATED);
+        assertThat(status.get("userId").asLong()).isEqualTo(userId);
+        mockMvc.perform(get("/v2/users/{userId}/posts", userId).header(HttpHeaders.AUTHORIZATION, AUTHORIZATION))
+            .andExpect(jsonPath("$[0].id").value(status.get("postId").asLong()))
+            .andExpect(jsonPath("$[0].description").value("queued post"));
+    }
+
+    @Test
+    void missingUserStatusBecomesFailed() throws Exception {
+        String location = create(Long.MAX_VALUE, "nobody's post");
+
+        JsonNode status = awaitDone(location);
+        assertThat(status.get("status").asText()).isEqualTo(PendingPostDto.FAILED);
+        assertThat(status.get("message").asText()).isEqualTo("ID[" + Long.MAX_VALUE + "] not found");
+        assertThat(status.has("postId")).isFalse();
+    }
+
+    /** 종료 중(또는 가득 찬) 대기열은 429와 Retry-After로 거절한다 */
+    @Test
+    void stoppedQueueIsTooManyRequests() throws Exception {
+        postWriteBehindQueue.stop();
+        try {
+            mockMvc.perform(post("/v2/users/{userId}/posts", 1L).header(HttpHeaders.AUTHORIZATION, AUTHORIZATION)
+                    .contentType(MediaType.APPLICATION_JSON).content("{\"description\":\"rejected\"}"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+        } finally {
+            postWriteBehindQueue.start();
+        }
+    }
+
+    private String create(Long userId, String description) throws Exception {
+        String location = mockMvc.perform(post("/v2/users/{userId}/posts", userId).header(HttpHeaders.AUTHORIZATION, AUTHORIZATION)
+                .contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(Map.of("description", description))))
+            .andExpect(status().isAccepted())
+            .andReturn().getResponse().getHeader(HttpHeaders.LOCATION);
+        assertThat(location).matches("http://localhost/v2/posts/pending/[0-9a-f-]{36}");
+        return location;
+    }
+
+    /** PENDING이 아닌 상태가 될 때까지 Location을 조회한다 */
+    private JsonNode awaitDone(String location) throws Exception {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+        while (true) {
+            String body = mockMvc.perform(get(location).header(HttpHeaders.AUTHORIZATION, AUTHORIZATION))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+            JsonNode status = objectMapper.readTree(body);
+            if (!PendingPostDto.PENDING.equals(status.get("status").asText()) || System.currentTimeMillis() > deadline) {
+                return status;
+            }
+            Thread.sleep(20);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.study.post.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.function.Predicate;
+
+import com.study.post.controller.v2.dto.PostDto;
+import com.study.post.controller.v3.dto.PostSearchResponseDto;
+import com.study.post.service.PostService;
+import com.study.support.TwoNodeCluster;
+import com.study.user.domain.User;
+import com.study.user.service.UserService;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * 같은 H2 서버를 사용하는 두 노드에서 한 노드의 게시글 변경이 다른 노드의 검색 색인에
+ * 보정 주기(app.post.search.catch-up-interval-ms) 안에 반영되는지 확인
+ */
+class PostSearchIndexCatchUpTest {
+
+    private static TwoNodeCluster cluster;
+
+    @BeforeAll
+    static void startNodes() throws SQLException, IOException {
+        cluster = TwoNodeCluster.start("search", "app.post.search.catch-up-interval-ms", 500);
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        cluster.close();
+    }
+
+    @Test
+    void postCreatedAndModifiedOnOtherNodeConverges() {
+        Long userId = user("writer");
+        PostDto post = new PostDto();
+        post.setDescription("aardvark on node A");
+        post.setId(postService().savePostByUser(userId, post));
+
+        assertConvergesOnNodeB("aardvark", result -> result.getTotal() == 1);
+
+        post.setDescription("buffalo on node A");
+        postService().modifyPostByUser(userId, post);
+
+        assertConvergesOnNodeB("buffalo", result -> result.getTotal() == 1);
+        assertThat(cluster.onNodeB(PostSearchIndex.class).search("aardvark", 0, 10).getTotal()).isZero();
+    }
+
+    @Test
+    void postRemovedOnOtherNodeConverges() {
+        Long userId = user("remover");
+        PostDto post = new PostDto();
+        post.setDescription("capybara on node A");
+        Long postId = postService().savePostByUser(userId, post);
+        awaitOnNodeB("capybara", result -> result.getTotal() == 1);
+
+        postService().removePostByUser(userId, postId);
+
+        assertConvergesOnNodeB("capybara", result -> result.getTotal() == 0);
+    }
+
+    @Test
+    void userRemovedOnOtherNodeConverges() {
+        Long userId = user("removed");
+        PostDto post = new PostDto();
+        post.setDescription("dingo on node A");
+        postService().savePostByUser(userId, post);
+        awaitOnNodeB("dingo", result -> result.getTotal() == 1);
+
+        cluster.onNodeA(UserService.class).removeUsers(List.of(userId));
+
+        assertConvergesOnNodeB("dingo", result -> result.getTotal() == 0);
+    }
+
+    private static Long user(String name) {
+        return cluster.onNodeA(UserService.class).saveUser(User.builder().name(name).password("pw").ssn("701010-1111111").build());
+    }
+
+    private static PostService postService() {
+        return cluster.onNodeA(PostService.class);
+    }
+
+    private static void awaitOnNodeB(String query, Predicate<PostSearchResponseDto> condition) {
+        cluster.await(() -> cluster.onNodeB(PostSearchIndex.class).search(query, 0, 10), condition);
+    }
+
+    /** 노드 B의 검색 결과가 보정 주기 안에 condition을 만족하는지 */
+    private static void assertConvergesOnNodeB(String query, Predicate<PostSearchResponseDto> condition) {
+        cluster.assertConverges(() -> cluster.onNodeB(PostSearchIndex.class).search(query, 0, 10), condition);
+    }
+}
@@ -0,0 +1,80 @@
+package com.study.post.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+import com.study.post.event.PostChangedEvent;
+import com.study.post.event.UserPostsRemovedEvent;
+import com.study.post.service.PostService;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * 색인 구축 중 커밋된 변경 - 구축 스트림은 변경 전 스냅샷을 전달하므로 이벤트가 먼저 적용되면 이전 값으로 덮어쓰게 된다
+ */
+class PostSearchIndexTest {
+
+    private static final LocalDateTime CREATED = LocalDateTime.of(2022, 1, 1, 0, 0);
+
+    private final PostService postService = mock(PostService.class);
+    private final PostSearchIndex index = new PostSearchIndex(postService);
+
+    @Test
+    void removalDuringBuildIsNotUndoneByStaleRow() {
+        duringBuild(() -> index.onPostChanged(PostChangedEvent.removed(1L, 10L)),
+                    new PostDocument(1L, 10L, "removed while building", CREATED));
+
+        assertThat(index.size()).isZero();
+        assertThat(index.search("building", 0, 10).getTotal()).isZero();
+    }
+
+    @Test
+    void modificationDuringBuildIsNotUndoneByStaleRow() {
+        duringBuild(() -> index.onPostChanged(PostChangedEvent.saved(1L, 10L, "fresh content", null)),
+                    new PostDocument(1L, 10L, "stale content", CREATED));
+
+        assertThat(index.search("stale", 0, 10).getTotal()).isZero();
+        assertThat(index.search("fresh", 0, 10).getPosts()).singleElement()
+            .satisfies(post -> assertThat(post.getCreateDate()).isEqualTo(CREATED));
+    }
+
+    @Test
+    void userRemovalDuringBuildIsNotUndoneByStaleRows() {
+        duringBuild(() -> index.onUserPostsRemoved(new UserPostsRemovedEvent(List.of(10L))),
+                    new PostDocument(1L, 10L, "first post", CREATED),
+                    new PostDocument(2L, 10L, "second post", CREATED),
+                    new PostDocument(3L, 20L, "other user post", CREATED));
+
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.search("post", 0, 10).getPosts()).singleElement()
+            .satisfies(post -> assertThat(post.getUserId()).isEqualTo(20L));
+    }
+
+    @Test
+    void eventsAfterBuildAreAppliedImmediately() {
+        duringBuild(() -> { });
+
+        index.onPostChanged(PostChangedEvent.saved(1L, 10L, "after build", CREATED));
+        assertThat(index.search("after", 0, 10).getTotal()).isEqualTo(1);
+    }
+
+    /** 구축 스트림이 행을 전달하기 전에 커밋 이벤트가 들어오는 상황으로 build 실행 */
+    @SuppressWarnings("unchecked")
+    private void duringBuild(Runnable commit, PostDocument... staleRows) {
+        doAnswer(invocation -> {
+            Consumer<PostDocument> consumer = invocation.getArgument(0);
+            commit.run();
+            for (PostDocument row : staleRows) {
+                consumer.accept(row);
+            }
+            return null;
+        }).when(postService).forEachDocument(any(Consumer.class));
+        index.build();
+    }
+}
@@ -0,0 +1,174 @@
+package com.study.post.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+import com.study.common.exception.TooManyRequestsException;
+import com.study.post.controller.v2.dto.PendingPostDto;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.invocation.InvocationOnMock;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * 쓰기 지연 대기열의 저장 결과와 처리 상태 - PostService는 목으로 대신하고, 저장 스레드를 blocker 게시글로 멈춰 batch 구성을 정한다
+ */
+class PostWriteBehindQueueTest {
+
+    private static final long MISSING_USER = 99L;
+    private static final String BAD = "bad";
+    private static final long TIMEOUT_MS = 5000;
+
+    private final PostService postService = mock(PostService.class);
+    private final AtomicLong postIds = new AtomicLong();
+    private final List<List<String>> batches = new CopyOnWriteArrayList<>();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private PostWriteBehindQueue queue;
+
+    @AfterEach
+    void stop() {
+        release.countDown();
+        queue.stop();
+    }
+
+    /** 저장되면 CREATED와 게시글 id, 없는 사용자의 게시글은 FAILED와 사용자 메시지 */
+    @Test
+    void statusesAfterWrite() {
+        start(10);
+        String ticket = queue.enqueue(1L, "saved");
+        String missing = queue.enqueue(MISSING_USER, "no such user");
+
+        assertThat(queue.getStatus(ticket)).isPresent();
+        assertThat(await(ticket, created()).getPostId()).isNotNull();
+        assertThat(await(missing, failed()).getMessage()).isEqualTo("ID[99] not found");
+    }
+
+    /** 대기열이 가득 차면 Retry-After 초와 함께 거절 */
+    @Test
+    void fullQueueIsRejected() {
+        start(1);
+        block();
+        queue.enqueue(1L, "queued");
+
+        assertThatThrownBy(() -> queue.enqueue(1L, "rejected"))
+            .isInstanceOfSatisfying(TooManyRequestsException.class,
+                e -> assertThat(e.getRetryAfterSeconds()).isEqualTo(1));
+    }
+
+    /** 종료할 때는 새 게시글을 거절하고, 이미 대기열에 있는 게시글은 모두 저장한 뒤 끝난다 */
+    @Test
+    void stopWritesQueuedPosts() {
+        start(10);
+        String blocker = block();
+        List<String> tickets = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            tickets.add(queue.enqueue(1L, "queued " + i));
+        }
+
+        CompletableFuture<Void> stopped = CompletableFuture.runAsync(queue::stop);
+        long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+        while (queue.isRunning() && System.currentTimeMillis() < deadline) {
+            sleep(10);
+        }
+        assertThatThrownBy(() -> queue.enqueue(1L, "after stop")).isInstanceOf(TooManyRequestsException.class);
+        release.countDown();
+        stopped.join();
+
+        assertThat(queue.getStatus(blocker)).get().matches(created());
+        assertThat(tickets).allSatisfy(ticket -> assertThat(queue.getStatus(ticket)).get().matches(created()));
+    }
+
+    /** batch 저장이 실패하면 한 건씩 다시 저장해서 문제가 있는 게시글만 FAILED가 되고, 예외 내용은 응답에 넣지 않는다 */
+    @Test
+    void failedBatchIsRetriedOneByOne() {
+        start(10);
+        String blocker = block();
+        String first = queue.enqueue(1L, "first");
+        String bad = queue.enqueue(2L, BAD);
+        String last = queue.enqueue(3L, "last");
+        release.countDown();
+
+        assertThat(await(first, created())).satisfies(status -> assertThat(status.getPostId()).isNotNull());
+        assertThat(await(last, created())).satisfies(status -> assertThat(status.getPostId()).isNotNull());
+        assertThat(await(bad, failed()).getMessage()).isEqualTo(PostWriteBehindQueue.SAVE_FAILED);
+        assertThat(await(blocker, created())).isNotNull();
+        assertThat(batches).contains(List.of("first", BAD, "last"), List.of("first"), List.of(BAD), List.of("last"));
+    }
+
+    /** 저장 스레드가 blocker를 꺼내 멈출 때까지 기다린다 - 이후에 넣은 게시글은 release 후 한 batch로 저장된다 */
+    private String block() {
+        String ticket = queue.enqueue(1L, "blocker");
+        long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+        while (batches.isEmpty() && System.currentTimeMillis() < deadline) {
+            sleep(10);
+        }
+        assertThat(batches).containsExactly(List.of("blocker"));
+        return ticket;
+    }
+
+    private void start(int capacity) {
+        queue = new PostWriteBehindQueue(postService, new SimpleMeterRegistry(), true, capacity, 100, 1, Duration.ofMinutes(1));
+        when(postService.savePostsInBatch(anyList())).thenAnswer(this::save);
+        queue.start();
+    }
+
+    /** blocker는 release 전까지 저장을 멈추고, BAD가 들어 있으면 SQL 오류처럼 실패, 없는 사용자의 게시글은 null */
+    private List<Long> save(InvocationOnMock invocation) throws InterruptedException {
+        List<PostWriteBehindQueue.PendingPost> batch = invocation.getArgument(0);
+        List<String> descriptions = new ArrayList<>();
+        batch.forEach(post -> descriptions.add(post.getDescription()));
+        batches.add(descriptions);
+        if (descriptions.contains("blocker")) {
+            release.await(TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        }
+        if (descriptions.contains(BAD)) {
+            throw new IllegalStateException("could not execute statement; SQL [insert into post ...]");
+        }
+        List<Long> ids = new ArrayList<>();
+        batch.forEach(post -> ids.add(post.getUserId() == MISSING_USER ? null : postIds.incrementAndGet()));
+        return ids;
+    }
+
+    private PendingPostDto await(String ticket, Predicate<PendingPostDto> condition) {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+        Optional<PendingPostDto> status = queue.getStatus(ticket);
+        while (status.filter(condition).isEmpty() && System.currentTimeMillis() < deadline) {
+            sleep(10);
+            status = queue.getStatus(ticket);
+        }
+        assertThat(status).as("status of %s", ticket).get().matches(condition);
+        return status.get();
+    }
+
+    private static Predicate<PendingPostDto> created() {
+        return status -> PendingPostDto.CREATED.equals(status.getStatus());
+    }
+
+    private static Predicate<PendingPostDto> failed() {
+        return status -> PendingPostDto.FAILED.equals(status.getStatus());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.study.support;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+/**
+ * API 테스트 공통 - 기본 인증 헤더와 SQL 문장 수를 세는 Hibernate 통계
+ */
+public final class ApiTestSupport {
+
+    /** SecurityConfig의 메모리 사용자 계정 */
+    public static final String AUTHORIZATION = "Basic " + Base64.getEncoder().encodeToString("user:123123".getBytes(StandardCharsets.UTF_8));
+
+    private ApiTestSupport() {
+    }
+
+    /** 지금까지의 통계를 지운 Statistics - 이후 실행된 문장 수는 getPrepareStatementCount()로 확인한다 (test 프로필의 generate_statistics) */
+    public static Statistics statistics(EntityManagerFactory entityManagerFactory) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+}
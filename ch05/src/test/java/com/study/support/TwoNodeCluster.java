@@ -0,0 +1,100 @@
+package com.study.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.sql.SQLException;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import com.study.StartApplication;
+
+import org.h2.tools.Server;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * 같은 H2 TCP 서버를 사용하는 두 노드(애플리케이션 컨텍스트) - 한 노드의 변경이 다른 노드의 로컬 상태(캐시, 색인)에
+ * 주기 작업(intervalProperty) 한번 안에 반영되는지 확인하는 테스트에서 사용한다
+ */
+public final class TwoNodeCluster implements AutoCloseable {
+
+    private static final long TOLERANCE_MS = 500; /** 스케줄러 지연과 DB 조회 시간 */
+
+    private final Server h2;
+    private final long intervalMs;
+    private final ConfigurableApplicationContext nodeA;
+    private final ConfigurableApplicationContext nodeB;
+
+    private TwoNodeCluster(Server h2, long intervalMs, ConfigurableApplicationContext nodeA, ConfigurableApplicationContext nodeB) {
+        this.h2 = h2;
+        this.intervalMs = intervalMs;
+        this.nodeA = nodeA;
+        this.nodeB = nodeB;
+    }
+
+    /** 메모리 DB database로 두 노드를 띄운다 - 스키마는 첫 노드가 만들고, 두 노드 모두 intervalProperty를 intervalMs로 설정한다 */
+    public static TwoNodeCluster start(String database, String intervalProperty, long intervalMs) throws SQLException, IOException {
+        Server h2 = Server.createTcpServer("-tcpPort", String.valueOf(freePort()), "-ifNotExists").start();
+        String url = String.format("jdbc:h2:tcp://localhost:%d/mem:%s;DB_CLOSE_DELAY=-1", h2.getPort(), database);
+        String interval = "--" + intervalProperty + "=" + intervalMs;
+        ConfigurableApplicationContext nodeA = startNode(url, "create", interval);
+        ConfigurableApplicationContext nodeB = startNode(url, "none", interval);
+        return new TwoNodeCluster(h2, intervalMs, nodeA, nodeB);
+    }
+
+    public <T> T onNodeA(Class<T> type) {
+        return nodeA.getBean(type);
+    }
+
+    public <T> T onNodeB(Class<T> type) {
+        return nodeB.getBean(type);
+    }
+
+    /** probe 결과가 condition을 만족할 때까지 기다린 시간(ms) - 주기의 10배 안에 만족하지 않으면 실패 */
+    public <T> long await(Supplier<T> probe, Predicate<T> condition) {
+        long start = System.currentTimeMillis();
+        long deadline = start + 10 * intervalMs;
+        while (!condition.test(probe.get())) {
+            assertThat(System.currentTimeMillis()).as("node B did not converge").isLessThan(deadline);
+            sleep(10);
+        }
+        return System.currentTimeMillis() - start;
+    }
+
+    /** await와 같고, 주기 한번(과 허용 지연) 안에 반영되었는지 확인한다 */
+    public <T> void assertConverges(Supplier<T> probe, Predicate<T> condition) {
+        assertThat(await(probe, condition)).isLessThanOrEqualTo(intervalMs + TOLERANCE_MS);
+    }
+
+    @Override
+    public void close() {
+        nodeB.close();
+        nodeA.close();
+        h2.stop();
+    }
+
+    private static ConfigurableApplicationContext startNode(String url, String ddlAuto, String interval) {
+        return new SpringApplicationBuilder(StartApplication.class)
+            .profiles("test")
+            .run("--spring.datasource.url=" + url,
+                 "--spring.jpa.hibernate.ddl-auto=" + ddlAuto,
+                 interval);
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
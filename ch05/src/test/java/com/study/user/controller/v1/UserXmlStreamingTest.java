@@ -0,0 +1,154 @@
+package com.study.user.controller.v1;
+
+import static com.study.support.ApiTestSupport.AUTHORIZATION;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.stream.Stream;
+
+import com.study.common.dto.CursorPage;
+import com.study.common.dto.CursorRequest;
+import com.study.user.controller.v1.dto.UserDto;
+import com.study.user.controller.v1.dto.UserResponseDto;
+import com.study.user.domain.User;
+import com.study.user.service.UserService;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.GenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.mock.http.MockHttpOutputMessage;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+/**
+ * 스트리밍으로 기록한 v1 사용자 목록 XML이 같은 페이지를 XML 메시지 컨버터로 기록한 결과와 같다
+ * (다음 페이지가 있는 첫 페이지, 빈 페이지, before 커서로 조회한 이전 페이지)
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class UserXmlStreamingTest {
+
+    private static final int LIMIT = 3;
+    private static final Type USER_LIST = new ParameterizedTypeReference<List<UserDto>>() { }.getType();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private RequestMappingHandlerAdapter handlerAdapter;
+
+    private CursorRequest secondPage;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < LIMIT * 2 + 1; i++) {
+            userService.saveUser(User.builder().name("xml-" + i).password("pw").ssn("701010-1111111").build());
+        }
+        CursorPage<UserDto> first = userService.findPage(CursorRequest.of(null, null, LIMIT));
+        secondPage = CursorRequest.of(first.getNextCursor(), null, LIMIT);
+    }
+
+    static Stream<Arguments> pages() {
+        return Stream.of(
+            Arguments.of("first", null, null),
+            Arguments.of("empty", String.valueOf(Long.MAX_VALUE), null),
+            Arguments.of("backward", null, "second.prev"));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("pages")
+    void userListMatchesConverterXml(String name, String after, String before) throws Exception {
+        CursorRequest request = request(after, before);
+        MockHttpServletResponse streamed = perform("/v1/users", request);
+
+        CursorPage<UserDto> page = userService.findPage(request);
+        assertThat(page.getContent().isEmpty()).isEqualTo("empty".equals(name));
+        UserResponseDto expected = new UserResponseDto(HttpStatus.NOT_FOUND.value(), "User list is empty");
+        if (!page.getContent().isEmpty()) {
+            expected = new UserResponseDto();
+            expected.setUsers(page.getContent());
+            expected.setNextCursor(page.getNextCursor());
+            expected.setPrevCursor(page.getPrevCursor());
+        }
+        assertThat(streamed.getContentAsString()).isEqualTo(converterXml(expected, UserResponseDto.class));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("pages")
+    void adminUserListMatchesConverterXml(String name, String after, String before) throws Exception {
+        CursorRequest request = request(after, before);
+        MockHttpServletResponse streamed = perform("/v1/admin/users", request);
+        MockHttpServletResponse json = mockMvc.perform(get("/v1/admin/users").header(HttpHeaders.AUTHORIZATION, AUTHORIZATION)
+                .accept(MediaType.APPLICATION_JSON).params(params(request)))
+            .andExpect(status().isOk())
+            .andReturn().getResponse();
+
+        List<UserDto> users = userService.findPage(request).getContent();
+        assertThat(streamed.getContentAsString()).isEqualTo(converterXml(users, USER_LIST));
+        assertThat(streamed.getHeaders(HttpHeaders.LINK)).isEqualTo(json.getHeaders(HttpHeaders.LINK));
+    }
+
+    /** "second.prev"는 두번째 페이지의 이전 페이지 커서 */
+    private CursorRequest request(String after, String before) {
+        if ("second.prev".equals(before)) {
+            before = userService.findPage(secondPage).getPrevCursor();
+        }
+        return CursorRequest.of(after, before, LIMIT);
+    }
+
+    private MockHttpServletResponse perform(String path, CursorRequest request) throws Exception {
+        MockHttpServletResponse response = mockMvc.perform(get(path).header(HttpHeaders.AUTHORIZATION, AUTHORIZATION)
+                .accept(MediaType.APPLICATION_XML).params(params(request)))
+            .andExpect(status().isOk())
+            .andReturn().getResponse();
+        assertThat(MediaType.parseMediaType(response.getContentType()).isCompatibleWith(MediaType.APPLICATION_XML)).isTrue();
+        return response;
+    }
+
+    /** MVC가 응답 본문을 기록할 때와 같이 application/xml을 쓸 수 있는 첫 컨버터로 기록 */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private String converterXml(Object body, Type type) throws Exception {
+        for (HttpMessageConverter converter : handlerAdapter.getMessageConverters()) {
+            if (converter instanceof GenericHttpMessageConverter
+                    && ((GenericHttpMessageConverter) converter).canWrite(type, body.getClass(), MediaType.APPLICATION_XML)) {
+                MockHttpOutputMessage output = new MockHttpOutputMessage();
+                ((GenericHttpMessageConverter) converter).write(body, type, MediaType.APPLICATION_XML, output);
+                return output.getBodyAsString();
+            }
+        }
+        throw new IllegalStateException("No XML converter for " + type);
+    }
+
+    private static MultiValueMap<String, String> params(CursorRequest request) {
+        MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
+        if (request.getAfter() != null) {
+            params.add("after", request.getAfter());
+        }
+        if (request.getBefore() != null) {
+            params.add("before", request.getBefore());
+        }
+        params.add("limit", String.valueOf(request.getLimit()));
+        return params;
+    }
+}
@@ -0,0 +1,40 @@
+package com.study.user.controller.v2;
+
+import static com.study.support.ApiTestSupport.AUTHORIZATION;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class UserBatchControllerV2Test {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    /** 컬럼 길이를 넘는 항목이 있으면 chunk 전체가 400으로 실패하고, 응답에 SQL 오류 내용은 담지 않는다 */
+    @Test
+    void constraintViolationFailsChunkAsBadRequestWithoutCause() throws Exception {
+        String body = "{\"name\":\"batch-ok\",\"password\":\"pw\",\"ssn\":\"701010-1111111\"}\n"
+            + "{\"name\":\"" + "x".repeat(300) + "\",\"password\":\"pw\",\"ssn\":\"701010-1111111\"}\n";
+
+        mockMvc.perform(post("/v2/users/batch").header(HttpHeaders.AUTHORIZATION, AUTHORIZATION)
+                .contentType("application/x-ndjson").accept(MediaType.APPLICATION_JSON).content(body))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.created").value(0))
+            .andExpect(jsonPath("$.failed").value(2))
+            .andExpect(jsonPath("$.results[0].status").value(400))
+            .andExpect(jsonPath("$.results[1].status").value(400))
+            .andExpect(jsonPath("$.results[1].message").value("Constraint violation in chunk"));
+    }
+}
@@ -0,0 +1,157 @@
+package com.study.user.controller.v2;
+
+import static com.study.support.ApiTestSupport.AUTHORIZATION;
+import static com.study.support.ApiTestSupport.statistics;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+import javax.persistence.EntityManagerFactory;
+
+import com.study.post.controller.v2.dto.PostDto;
+import com.study.post.repository.PostRepository;
+import com.study.post.service.PostService;
+import com.study.user.controller.v1.dto.UserDto;
+import com.study.user.controller.v1.dto.UserRequestDto;
+import com.study.user.domain.User;
+import com.study.user.service.UserService;
+
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class UserControllerV2Test {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    /** 캐시에 남은 이전 버전의 사용자로 새 버전의 ETag 응답을 만들지 않는다 */
+    @Test
+    void staleCachedUserIsNotServedUnderNewerETag() throws Exception {
+        Long id = userService.saveUser(User.builder().name("before").password("pw").ssn("701010-1111111").build());
+        UserDto stale = userService.findOneUser(id).orElseThrow();
+
+        UserRequestDto request = new UserRequestDto();
+        request.setId(id);
+        request.setName("after");
+        request.setPassword("pw");
+        request.setSsn("701010-1111111");
+        UserDto updated = userService.updateUser(request).orElseThrow();
+        cacheManager.getCache(UserService.USER_CACHE).put(id, stale); // 재검증 전인 다른 노드의 캐시와 같은 상태
+
+        mockMvc.perform(get("/v2/users/{id}", id).header(HttpHeaders.AUTHORIZATION, AUTHORIZATION).accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"user-" + id + "-" + updated.getVersion() + "-json\""))
+            .andExpect(jsonPath("$.name").value("after"));
+    }
+
+    /** 게시글 등록이 게시글 수와 버전을 올리는 동안 사용자 정보를 수정해도 충돌(500/409) 없이 모두 반영된다 */
+    @Test
+    void profileUpdatesDoNotConflictWithConcurrentPostCountChanges() throws Exception {
+        Long id = userService.saveUser(User.builder().name("concurrent").password("pw").ssn("701010-1111111").build());
+        int rounds = 30;
+
+        CompletableFuture<Void> posts = CompletableFuture.runAsync(() -> {
+            for (int i = 0; i < rounds; i++) {
+                PostDto post = new PostDto();
+                post.setDescription("concurrent post " + i);
+                postService.savePostByUser(id, post);
+            }
+        });
+        List<Integer> statuses = new ArrayList<>();
+        for (int i = 0; i < rounds; i++) {
+            statuses.add(mockMvc.perform(put("/v2/users").header(HttpHeaders.AUTHORIZATION, AUTHORIZATION)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"id\":" + id + ",\"name\":\"name-" + i + "\",\"password\":\"pw\",\"ssn\":\"701010-1111111\"}"))
+                .andReturn().getResponse().getStatus());
+        }
+        posts.join();
+
+        assertThat(statuses).containsOnly(200);
+        UserDto user = userService.findOneUser(id, userService.findVersion(id).orElseThrow().getVersion()).orElseThrow();
+        assertThat(user.getName()).isEqualTo("name-" + (rounds - 1));
+        assertThat(user.getPostCount()).isEqualTo(rounds);
+    }
+
+    /** 게시글 수와 관계없이 게시글 delete, 사용자 delete 두 문장으로 삭제한다 */
+    @Test
+    void removeUserRunsTwoStatementsRegardlessOfPostCount() throws Exception {
+        for (int posts : new int[] {1, 20}) {
+            Long id = userWithPosts("remove-" + posts, posts);
+
+            Statistics statistics = statistics(entityManagerFactory);
+            mockMvc.perform(delete("/v2/users/{id}", id).header(HttpHeaders.AUTHORIZATION, AUTHORIZATION))
+                .andExpect(status().isOk());
+
+            assertThat(statistics.getPrepareStatementCount()).as("posts=%d", posts).isEqualTo(2);
+            assertThat(postRepository.findLatestByUserIds(List.of(id), 1)).isEmpty();
+            assertThat(userService.findVersion(id)).isEmpty();
+        }
+    }
+
+    /** 일괄 삭제도 UserService.DELETE_CHUNK_SIZE개 이하의 id면 사용자 수, 게시글 수와 관계없이 두 문장이다 */
+    @Test
+    void removeUsersRunsTwoStatementsPerChunk() throws Exception {
+        for (int users : new int[] {1, 10}) {
+            List<Long> ids = new ArrayList<>();
+            for (int i = 0; i < users; i++) {
+                ids.add(userWithPosts("bulk-" + users + "-" + i, i + 1));
+            }
+
+            Statistics statistics = statistics(entityManagerFactory);
+            mockMvc.perform(delete("/v2/users").param("ids", ids.stream().map(String::valueOf).collect(Collectors.joining(",")))
+                    .header(HttpHeaders.AUTHORIZATION, AUTHORIZATION))
+                .andExpect(status().isOk());
+
+            assertThat(statistics.getPrepareStatementCount()).as("users=%d", users).isEqualTo(2);
+            assertThat(postRepository.findLatestByUserIds(ids, 1)).isEmpty();
+            ids.forEach(id -> assertThat(userService.findVersion(id)).isEmpty());
+        }
+    }
+
+    private Long userWithPosts(String name, int posts) {
+        Long id = userService.saveUser(User.builder().name(name).password("pw").ssn("701010-1111111").build());
+        for (int i = 0; i < posts; i++) {
+            PostDto post = new PostDto();
+            post.setDescription(name + " post " + i);
+            postService.savePostByUser(id, post);
+        }
+        return id;
+    }
+
+    /** 통계를 비운 뒤 반환 - 이후 실행된 문장 수를 getPrepareStatementCount로 확인한다 */
+}
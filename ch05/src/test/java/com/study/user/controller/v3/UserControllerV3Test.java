@@ -0,0 +1,137 @@
+package com.study.user.controller.v3;
+
+import static com.study.support.ApiTestSupport.AUTHORIZATION;
+import static com.study.support.ApiTestSupport.statistics;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import javax.persistence.EntityManagerFactory;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.study.common.dto.CursorRequest;
+import com.study.post.controller.v2.dto.PostDto;
+import com.study.post.service.PostService;
+import com.study.user.domain.User;
+import com.study.user.service.UserService;
+
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+/**
+ * include=posts 사용자 목록의 SQL 문장 수 - 페이지 크기와 무관하게 사용자 페이지 조회와 게시글 조회 두번이다
+ * 전체 사용자 내보내기(JSON 배열, NDJSON) 본문
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class UserControllerV3Test {
+
+    private static final int POSTS_PER_USER = 2;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /** JSON 배열 - 모든 사용자가 UserInfo 뷰(password 제외)로 id 순서대로 기록된다 */
+    @Test
+    void exportWritesJsonArray() throws Exception {
+        Long id = userService.saveUser(User.builder().name("export-json").password("secret").ssn("701010-1111111").build());
+
+        JsonNode users = objectMapper.readTree(export("json", MediaType.APPLICATION_JSON_VALUE));
+
+        assertThat(users.isArray()).isTrue();
+        assertExported(StreamSupport.stream(users.spliterator(), false).collect(Collectors.toList()), id, "export-json");
+    }
+
+    /** NDJSON - 한 줄에 사용자 한명, 마지막 줄도 줄바꿈으로 끝난다 */
+    @Test
+    void exportWritesNdjson() throws Exception {
+        Long id = userService.saveUser(User.builder().name("export-ndjson").password("secret").ssn("701010-1111111").build());
+
+        String body = export("ndjson", "application/x-ndjson");
+
+        assertThat(body).endsWith("}\n");
+        List<JsonNode> users = body.lines().map(this::readTree).collect(Collectors.toList());
+        assertExported(users, id, "export-ndjson");
+    }
+
+    @Test
+    void usersWithPostsRunTwoStatementsRegardlessOfPageSize() throws Exception {
+        Long firstId = null;
+        for (int i = 0; i < CursorRequest.MAX_LIMIT; i++) {
+            Long userId = userService.saveUser(User.builder().name("with-posts-" + i).password("pw").ssn("701010-1111111").build());
+            for (int j = 0; j < POSTS_PER_USER; j++) {
+                PostDto post = new PostDto();
+                post.setDescription("post " + j + " of " + userId);
+                postService.savePostByUser(userId, post);
+            }
+            firstId = firstId == null ? userId : firstId;
+        }
+        String after = String.valueOf(firstId - 1); // 다른 테스트가 만든 게시글 없는 사용자를 건너뛴다
+
+        for (int limit : new int[] {1, 10, CursorRequest.MAX_LIMIT}) {
+            Statistics statistics = statistics(entityManagerFactory);
+            mockMvc.perform(get("/v3/users").header(HttpHeaders.AUTHORIZATION, AUTHORIZATION)
+                    .param("include", "posts").param("limit", String.valueOf(limit)).param("after", after))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(limit))
+                .andExpect(jsonPath("$[" + (limit - 1) + "].posts.length()").value(POSTS_PER_USER));
+
+            assertThat(statistics.getPrepareStatementCount()).as("limit=%d", limit).isEqualTo(2);
+        }
+    }
+
+    private String export(String format, String contentType) throws Exception {
+        MvcResult result = mockMvc.perform(get("/v3/users/export").header(HttpHeaders.AUTHORIZATION, AUTHORIZATION).param("format", format))
+            .andReturn();
+        return mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith(contentType))
+            .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+    }
+
+    private void assertExported(List<JsonNode> users, Long id, String name) {
+        assertThat(users).isNotEmpty();
+        assertThat(users).extracting(user -> user.get("id").asLong()).isSorted().contains(id);
+        assertThat(users).allSatisfy(user -> assertThat(user.has("password")).isFalse());
+        assertThat(users).filteredOn(user -> user.get("id").asLong() == id)
+            .singleElement().satisfies(user -> assertThat(user.get("name").asText()).isEqualTo(name));
+    }
+
+    private JsonNode readTree(String line) {
+        try {
+            return objectMapper.readTree(line);
+        } catch (Exception e) {
+            throw new AssertionError("Invalid NDJSON line: " + line, e);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.study.user.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+import com.study.post.controller.v2.dto.PostDto;
+import com.study.post.service.PostService;
+import com.study.support.TwoNodeCluster;
+import com.study.user.controller.v1.dto.UserDto;
+import com.study.user.controller.v1.dto.UserRequestDto;
+import com.study.user.domain.User;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * 같은 H2 서버를 사용하는 두 노드(애플리케이션 컨텍스트)에서 한 노드의 변경이 다른 노드의 사용자 캐시에
+ * 재검증 주기(app.cache.revalidate-interval-ms) 안에 반영되는지 확인
+ */
+class UserCacheRevalidatorTest {
+
+    private static TwoNodeCluster cluster;
+
+    @BeforeAll
+    static void startNodes() throws SQLException, IOException {
+        cluster = TwoNodeCluster.start("convergence", "app.cache.revalidate-interval-ms", 500);
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        cluster.close();
+    }
+
+    @Test
+    void userUpdateOnOtherNodeConverges() {
+        Long id = cluster.onNodeA(UserService.class).saveUser(User.builder().name("before").password("pw").ssn("701010-1111111").build());
+        assertThat(cluster.onNodeB(UserService.class).findOneUser(id)).map(UserDto::getName).contains("before"); // 노드 B에 캐시
+
+        UserRequestDto request = new UserRequestDto();
+        request.setId(id);
+        request.setName("after");
+        request.setPassword("pw");
+        request.setSsn("701010-1111111");
+        cluster.onNodeA(UserService.class).updateUser(request);
+
+        assertConvergesOnNodeB(id, user -> user.isPresent() && "after".equals(user.get().getName()));
+    }
+
+    @Test
+    void postCountChangeOnOtherNodeConverges() {
+        Long id = cluster.onNodeA(UserService.class).saveUser(User.builder().name("writer").password("pw").ssn("701010-1111111").build());
+        assertThat(cluster.onNodeB(UserService.class).findOneUser(id)).map(UserDto::getPostCount).contains(0L);
+
+        PostDto post = new PostDto();
+        post.setDescription("post on node A");
+        cluster.onNodeA(PostService.class).savePostByUser(id, post);
+
+        assertConvergesOnNodeB(id, user -> user.isPresent() && user.get().getPostCount() == 1L);
+    }
+
+    @Test
+    void userRemovalOnOtherNodeConverges() {
+        Long id = cluster.onNodeA(UserService.class).saveUser(User.builder().name("removed").password("pw").ssn("701010-1111111").build());
+        assertThat(cluster.onNodeB(UserService.class).findOneUser(id)).isPresent();
+
+        cluster.onNodeA(UserService.class).removeUser(id);
+
+        assertConvergesOnNodeB(id, Optional::isEmpty);
+    }
+
+    /** 노드 B의 캐시 조회 결과가 재검증 주기 안에 condition을 만족하는지 */
+    private static void assertConvergesOnNodeB(Long id, Predicate<Optional<UserDto>> condition) {
+        cluster.assertConverges(() -> cluster.onNodeB(UserService.class).findOneUser(id), condition);
+    }
+}
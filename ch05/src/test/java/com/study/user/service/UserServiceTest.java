@@ -0,0 +1,38 @@
+package com.study.user.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.study.user.domain.User;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class UserServiceTest {
+
+    @Autowired
+    private UserService userService;
+
+    /** findPageIds 이후 페이지 id 사이에 추가된 사용자는 스트리밍하지 않는다 */
+    @Test
+    void streamUsersReturnsOnlyThePageIds() {
+        Long first = save("first");
+        Long inserted = save("inserted-after-page");
+        Long last = save("last");
+
+        List<Long> streamed = new ArrayList<>();
+        userService.streamUsers(List.of(first, last), user -> streamed.add(user.getId()));
+
+        assertThat(streamed).containsExactly(first, last).doesNotContain(inserted);
+    }
+
+    private Long save(String name) {
+        return userService.saveUser(User.builder().name(name).password("pw").ssn("701010-1111111").build());
+    }
+}